@@ -0,0 +1,123 @@
+package com.devchat.backend.benchmark;
+
+import com.devchat.backend.DevchatBackendApplication;
+import com.devchat.backend.service.ThreadStatsRepairJob;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Starts the application against an in-memory H2 database and seeds it through JDBC batches.
+ * Derived thread stats are filled in afterwards by the repair job.
+ */
+final class BenchmarkDatabase {
+
+    static final String[] KEYWORDS = {"spring", "hibernate", "index", "latency", "react", "docker", "mysql", "cache"};
+
+    private static final int BATCH = 1000;
+    private static final int VOCABULARY = 5000;
+
+    private BenchmarkDatabase() {}
+
+    static ConfigurableApplicationContext start(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:devchat-bench;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                // The migrations are MySQL DDL; H2 gets the schema straight from the entities
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.flyway.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--server.port=0",
+                "--superadmin.email=superadmin@bench.local",
+                "--superadmin.password=bench",
+                "--devchat.search.rebuild-on-startup=false",
+                "--devchat.request-log.enabled=false",
+                "--spring.profiles.active=prod",
+                "--logging.level.root=WARN"));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(DevchatBackendApplication.class).run(args.toArray(String[]::new));
+    }
+
+    static void seed(ConfigurableApplicationContext context, int users, int threads, int messagesPerThread) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Random random = new Random(7);
+        String password = new BCryptPasswordEncoder().encode("password");
+        LocalDateTime start = LocalDateTime.now().minusDays(365);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            rows.add(new Object[] {"user" + i, "user" + i + "@bench.local", password, "DEV", true});
+            rows = flush(jdbc, "INSERT INTO users (username, email, password, role, verified) VALUES (?, ?, ?, ?, ?)", rows);
+        }
+        flushAll(jdbc, "INSERT INTO users (username, email, password, role, verified) VALUES (?, ?, ?, ?, ?)", rows);
+        long firstUser = jdbc.queryForObject("SELECT MIN(id) FROM users WHERE username LIKE 'user%'", Long.class);
+
+        rows = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            rows.add(new Object[] {text(random, 6), text(random, 30),
+                    Timestamp.valueOf(start.plusMinutes(i * 5L)), firstUser + random.nextInt(users), 0, 0});
+            rows = flush(jdbc, "INSERT INTO threads (title, content, created_at, author_id, message_count, score) VALUES (?, ?, ?, ?, ?, ?)", rows);
+        }
+        flushAll(jdbc, "INSERT INTO threads (title, content, created_at, author_id, message_count, score) VALUES (?, ?, ?, ?, ?, ?)", rows);
+        long firstThread = jdbc.queryForObject("SELECT MIN(id) FROM threads", Long.class);
+
+        // Message ids come from a pooled sequence, so assign them here and move the sequence past them
+        rows = new ArrayList<>();
+        long messageId = 0;
+        for (int t = 0; t < threads; t++) {
+            LocalDateTime created = start.plusMinutes(t * 5L);
+            for (int m = 0; m < messagesPerThread; m++) {
+                rows.add(new Object[] {++messageId, text(random, 25), Timestamp.valueOf(created.plusSeconds(m * 30L)), 0, 0,
+                        firstUser + random.nextInt(users), firstThread + t});
+                rows = flush(jdbc, "INSERT INTO messages (id, content, timestamp, upvotes, downvotes, sender_id, thread_id) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+            }
+        }
+        flushAll(jdbc, "INSERT INTO messages (id, content, timestamp, upvotes, downvotes, sender_id, thread_id) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        jdbc.execute("ALTER SEQUENCE messages_seq RESTART WITH " + (messageId + 51));
+
+        context.getBean(ThreadStatsRepairJob.class).repair();
+    }
+
+    static String randomText(Random random, int words) {
+        return text(random, words);
+    }
+
+    private static List<Object[]> flush(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        if (rows.size() < BATCH) {
+            return rows;
+        }
+        flushAll(jdbc, sql, rows);
+        return new ArrayList<>();
+    }
+
+    private static void flushAll(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbc.batchUpdate(sql, rows);
+        }
+    }
+
+    // Zipf-like word choice so a few terms are common and most are rare, as in real posts
+    private static String text(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words && sb.length() < 230; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            if (random.nextInt(20) == 0) {
+                sb.append(KEYWORDS[random.nextInt(KEYWORDS.length)]);
+            } else {
+                int rank = (int) Math.pow(VOCABULARY, random.nextDouble());
+                sb.append('w').append(rank);
+            }
+        }
+        return sb.toString();
+    }
+}
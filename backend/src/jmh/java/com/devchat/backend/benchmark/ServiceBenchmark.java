@@ -0,0 +1,178 @@
+package com.devchat.backend.benchmark;
+
+import com.devchat.backend.dto.BulkImportResponseDto;
+import com.devchat.backend.dto.MessageImportDto;
+import com.devchat.backend.dto.MessageResponseDto;
+import com.devchat.backend.dto.PageResponseDto;
+import com.devchat.backend.dto.SearchResultDto;
+import com.devchat.backend.dto.ThreadResponseDto;
+import com.devchat.backend.dto.VoteRequestDto;
+import com.devchat.backend.entity.Thread;
+import com.devchat.backend.enums.Role;
+import com.devchat.backend.enums.VoteType;
+import com.devchat.backend.repository.ThreadRepository;
+import com.devchat.backend.search.SearchIndexRebuilder;
+import com.devchat.backend.security.JwtPrincipal;
+import com.devchat.backend.service.MessageService;
+import com.devchat.backend.service.SearchService;
+import com.devchat.backend.service.ThreadService;
+import com.devchat.backend.service.VoteService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service-level hot paths against an embedded database: DTO mapping of thread and message
+ * pages, the full vote flow, bulk message import, and keyword search through both the LIKE
+ * query and the index.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ServiceBenchmark {
+
+    @Param("500")
+    public int users;
+
+    @Param("20000")
+    public int threads;
+
+    @Param("10")
+    public int messagesPerThread;
+
+    @Param("1000")
+    public int importBatch;
+
+    private ConfigurableApplicationContext context;
+    private ThreadService threadService;
+    private MessageService messageService;
+    private VoteService voteService;
+    private SearchService searchService;
+    private ThreadRepository threadRepository;
+
+    private long firstUserId;
+    private long firstThreadId;
+    private long firstMessageId;
+    private long messageCount;
+    private String deepCursor;
+    private List<MessageImportDto> importRequest;
+
+    @State(Scope.Thread)
+    public static class Caller {
+        final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start();
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        BenchmarkDatabase.seed(context, users, threads, messagesPerThread);
+
+        threadService = context.getBean(ThreadService.class);
+        messageService = context.getBean(MessageService.class);
+        voteService = context.getBean(VoteService.class);
+        searchService = context.getBean(SearchService.class);
+        threadRepository = context.getBean(ThreadRepository.class);
+        context.getBean(SearchIndexRebuilder.class).rebuild();
+
+        firstUserId = jdbc.queryForObject("SELECT MIN(id) FROM users WHERE username LIKE 'user%'", Long.class);
+        firstThreadId = jdbc.queryForObject("SELECT MIN(id) FROM threads", Long.class);
+        firstMessageId = jdbc.queryForObject("SELECT MIN(id) FROM messages", Long.class);
+        messageCount = jdbc.queryForObject("SELECT COUNT(*) FROM messages", Long.class);
+
+        String cursor = null;
+        for (int i = 0; i < 50; i++) {
+            cursor = threadService.getThreadPage(cursor, 100).getNextCursor();
+        }
+        deepCursor = cursor;
+
+        Random random = new Random(11);
+        importRequest = new ArrayList<>(importBatch);
+        for (int i = 0; i < importBatch; i++) {
+            MessageImportDto dto = new MessageImportDto();
+            dto.setThreadId(firstThreadId + random.nextInt(threads));
+            dto.setContent(BenchmarkDatabase.randomText(random, 25));
+            importRequest.add(dto);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PageResponseDto<ThreadResponseDto> threadFirstPage() {
+        return threadService.getThreadPage(null, 20);
+    }
+
+    @Benchmark
+    public PageResponseDto<ThreadResponseDto> threadDeepPage() {
+        return threadService.getThreadPage(deepCursor, 20);
+    }
+
+    @Benchmark
+    public PageResponseDto<ThreadResponseDto> threadActivePage() {
+        return threadService.getActiveThreadPage(null, 20);
+    }
+
+    @Benchmark
+    public PageResponseDto<MessageResponseDto> messagePage(Caller caller) {
+        return messageService.getMessagePage(firstThreadId + caller.random.nextInt(threads), null, null, 50);
+    }
+
+    @Benchmark
+    public Map<String, Object> vote(Caller caller) {
+        long userId = firstUserId + caller.random.nextInt(users);
+        JwtPrincipal principal = new JwtPrincipal(userId, "user" + (userId - firstUserId), Role.DEV, true);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal, null, List.of(new SimpleGrantedAuthority("ROLE_DEV"))));
+        try {
+            VoteRequestDto dto = new VoteRequestDto();
+            dto.setMessageId(firstMessageId + caller.random.nextLong(messageCount));
+            dto.setVoteType(caller.random.nextBoolean() ? VoteType.UPVOTE : VoteType.DOWNVOTE);
+            return voteService.vote(dto);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public BulkImportResponseDto importMessages(Caller caller) {
+        long userId = firstUserId + caller.random.nextInt(users);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "user" + (userId - firstUserId), null, List.of(new SimpleGrantedAuthority("ROLE_DEV"))));
+        try {
+            return messageService.importMessages(importRequest);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public List<Thread> searchByKeyword(Caller caller) {
+        return threadRepository.searchByKeyword(keyword(caller));
+    }
+
+    @Benchmark
+    public PageResponseDto<SearchResultDto> searchIndex(Caller caller) {
+        return searchService.search(keyword(caller), null, 20);
+    }
+
+    private static String keyword(Caller caller) {
+        return BenchmarkDatabase.KEYWORDS[caller.random.nextInt(BenchmarkDatabase.KEYWORDS.length)];
+    }
+}
@@ -0,0 +1,184 @@
+package com.devchat.backend.benchmark;
+
+import com.devchat.backend.entity.User;
+import com.devchat.backend.enums.Role;
+import com.devchat.backend.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipFile;
+
+/**
+ * Time from launching the packaged application's JVM to its first successful API response
+ * ({@code GET /api/threads/page}), for each startup setup:
+ * <ul>
+ *   <li>{@code default}: the regular configuration</li>
+ *   <li>{@code lazy}: the {@code fast-startup} Spring profile</li>
+ *   <li>{@code aot}: {@code fast-startup} plus the AOT-processed bean definitions</li>
+ *   <li>{@code aot-cds}: as {@code aot}, with a class-data sharing archive from a training run</li>
+ * </ul>
+ * Each invocation starts a fresh JVM. The schema comes from the Flyway migrations on an in-memory
+ * H2 database in MySQL mode.
+ *
+ * <p>Runs against target/backend-*.jar, which must be built with the AOT step first:
+ * {@code ./mvnw -Pfast-startup package -DskipTests}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    private static final Path WORK_DIR = Path.of("target", "startup-bench");
+    private static final long START_TIMEOUT_MS = 120_000;
+
+    @Param({"default", "lazy", "aot", "aot-cds"})
+    public String setup;
+
+    private Path appJar;
+    private String h2Jar;
+    private Path archive;
+    private HttpClient client;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path jar = packagedJar();
+        if (setup.startsWith("aot") && !hasAotClasses(jar)) {
+            throw new IllegalStateException(jar + " has no AOT classes; build it with ./mvnw -Pfast-startup package -DskipTests");
+        }
+        // The extracted layout (application jar plus lib/) is what class-data sharing can archive
+        runToCompletion(List.of(javaBinary(), "-Djarmode=tools", "-jar", jar.toString(),
+                "extract", "--destination", WORK_DIR.toString(), "--force"));
+        appJar = WORK_DIR.resolve(jar.getFileName());
+        // H2 is a test dependency, so it is added next to the packaged classpath
+        h2Jar = Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entry -> entry.contains("h2-"))
+                .findFirst().orElseThrow(() -> new IllegalStateException("H2 not on the benchmark classpath"));
+
+        if (setup.equals("aot-cds")) {
+            Path dump = WORK_DIR.resolve("application.jsa");
+            Files.deleteIfExists(dump);
+            // Training run: start the context once, dump the loaded classes and exit
+            List<String> training = command(freePort());
+            training.add(1, "-XX:ArchiveClassesAtExit=" + dump);
+            training.add(2, "-Dspring.context.exit=onRefresh");
+            runToCompletion(training);
+            archive = dump;
+        }
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        // The superadmin is the first user created in a fresh database
+        User superadmin = new User();
+        superadmin.setId(1L);
+        superadmin.setUsername("superadmin");
+        superadmin.setRole(Role.SUPERADMIN);
+        superadmin.setVerified(true);
+        token = new JwtUtil().generateToken(superadmin);
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws Exception {
+        int port = freePort();
+        Path log = WORK_DIR.resolve(setup + ".log");
+        Process app = new ProcessBuilder(command(port))
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/threads/page?limit=20"))
+                    .header("Authorization", "Bearer " + token)
+                    .build();
+            long deadline = System.currentTimeMillis() + START_TIMEOUT_MS;
+            while (System.currentTimeMillis() < deadline) {
+                if (!app.isAlive()) {
+                    throw new IllegalStateException("Application exited during startup, see " + log);
+                }
+                try {
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (status != 200) {
+                        throw new IllegalStateException("First request returned " + status + ", see " + log);
+                    }
+                    return status;
+                } catch (ConnectException e) {
+                    // Not listening yet
+                    Thread.sleep(2);
+                }
+            }
+            throw new IllegalStateException("No response within " + START_TIMEOUT_MS + " ms, see " + log);
+        } finally {
+            app.destroy();
+            app.waitFor();
+        }
+    }
+
+    private List<String> command(int port) {
+        List<String> command = new ArrayList<>();
+        command.add(javaBinary());
+        if (archive != null) {
+            command.add("-XX:SharedArchiveFile=" + archive);
+        }
+        if (setup.startsWith("aot")) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        command.addAll(List.of(
+                "-cp", appJar + File.pathSeparator + h2Jar,
+                "com.devchat.backend.DevchatBackendApplication",
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:startup;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+                "--superadmin.email=superadmin@bench.local",
+                "--superadmin.password=bench",
+                "--spring.profiles.active=" + (setup.equals("default") ? "prod" : "prod,fast-startup")));
+        return command;
+    }
+
+    private static Path packagedJar() throws IOException {
+        try (var jars = Files.list(Path.of("target"))) {
+            return jars.filter(path -> path.getFileName().toString().matches("backend-.*\\.jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No target/backend-*.jar; run ./mvnw -Pfast-startup package -DskipTests"));
+        }
+    }
+
+    private static boolean hasAotClasses(Path jar) throws IOException {
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+            return zip.getEntry("BOOT-INF/classes/com/devchat/backend/DevchatBackendApplication__ApplicationContextInitializer.class") != null;
+        }
+    }
+
+    private static void runToCompletion(List<String> command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Failed: " + String.join(" ", command));
+        }
+    }
+
+    private static String javaBinary() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
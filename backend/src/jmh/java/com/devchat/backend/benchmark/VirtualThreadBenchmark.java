@@ -0,0 +1,86 @@
+package com.devchat.backend.benchmark;
+
+import com.devchat.backend.repository.UserRepository;
+import com.devchat.backend.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP throughput of platform versus virtual request threads. Each operation fires
+ * {@code concurrency} simultaneous requests over separate connections and waits for all of them,
+ * so requests per second is the reported ops/s times {@code concurrency}.
+ *
+ * <p>Virtual threads need a Java 21 runtime; on Java 17 both settings run platform threads.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param("1000")
+    public int concurrency;
+
+    @Param("50")
+    public int poolSize;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                // One token drives all the load; measure the server, not the per-user limiter
+                "--devchat.rate-limit.enabled=false",
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--server.tomcat.max-connections=" + (concurrency * 2),
+                "--server.tomcat.accept-count=" + concurrency);
+        BenchmarkDatabase.seed(context, 200, 5000, 5);
+
+        String token = context.getBean(JwtUtil.class).generateToken(
+                context.getBean(UserRepository.class).findByUsername("user0").orElseThrow());
+        String port = context.getEnvironment().getProperty("local.server.port");
+
+        clientExecutor = Executors.newFixedThreadPool(16);
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/threads/page?limit=20"))
+                .header("Authorization", "Bearer " + token)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clientExecutor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public int concurrentRequests() {
+        CompletableFuture<?>[] inFlight = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            inFlight[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        }
+        CompletableFuture.allOf(inFlight).join();
+        return inFlight.length;
+    }
+}
@@ -0,0 +1,59 @@
+package com.devchat.backend.cluster;
+
+/**
+ * A committed change that other nodes have to reflect in their in-memory state (caches, search
+ * index, hot ranking, ETag versions, push subscribers, username autocomplete).
+ *
+ * <p>Except for {@link Type#PUSH}, receivers re-read the current rows rather than trusting the
+ * event, so applying an event twice or out of order is harmless and equal events can be merged.
+ */
+public record DomainEvent(Type type, long id, Long threadId, String data) {
+
+    public enum Type {
+        THREAD_SAVED,
+        THREAD_DELETED,
+        THREAD_STATS_CHANGED,
+        MESSAGE_SAVED,
+        MESSAGE_DELETED,
+        VOTES_CHANGED,
+        USER_VERIFIED,
+        PUSH
+    }
+
+    public static DomainEvent threadSaved(Long threadId) {
+        return new DomainEvent(Type.THREAD_SAVED, threadId, threadId, null);
+    }
+
+    public static DomainEvent threadDeleted(Long threadId) {
+        return new DomainEvent(Type.THREAD_DELETED, threadId, threadId, null);
+    }
+
+    public static DomainEvent threadStatsChanged(Long threadId) {
+        return new DomainEvent(Type.THREAD_STATS_CHANGED, threadId, threadId, null);
+    }
+
+    public static DomainEvent messageSaved(Long messageId, Long threadId) {
+        return new DomainEvent(Type.MESSAGE_SAVED, messageId, threadId, null);
+    }
+
+    public static DomainEvent messageDeleted(Long messageId) {
+        return new DomainEvent(Type.MESSAGE_DELETED, messageId, null, null);
+    }
+
+    public static DomainEvent votesChanged(Long messageId, Long threadId) {
+        return new DomainEvent(Type.VOTES_CHANGED, messageId, threadId, null);
+    }
+
+    public static DomainEvent userVerified(Long userId, String username) {
+        return new DomainEvent(Type.USER_VERIFIED, userId, null, username);
+    }
+
+    // A Server-Sent Event for the thread's subscribers, as JSON
+    public static DomainEvent push(Long threadId, String json) {
+        return new DomainEvent(Type.PUSH, threadId, threadId, json);
+    }
+
+    public boolean coalesces() {
+        return type != Type.PUSH;
+    }
+}
@@ -0,0 +1,193 @@
+package com.devchat.backend.cluster;
+
+import com.devchat.backend.dto.ThreadEventDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Spreads committed changes to the other nodes of the cluster. The publishing node has already
+ * applied a change to its own state; the bus only informs the others, whose
+ * {@link DomainEventListener}s bring their in-memory state up to date.
+ *
+ * <p>Publishing only enqueues. Every {@code devchat.cluster.flush-ms} the queue is drained,
+ * equal events are merged and the rest goes to the {@link EventTransport} as one batch, so a
+ * burst of writes to one thread costs the cluster a single invalidation. A batch that fails to
+ * send is retried on the next flush; beyond {@code devchat.cluster.max-pending} queued events new
+ * ones are dropped and counted, and caches fall back to their TTLs.
+ */
+@Component
+public class DomainEventBus {
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventBus.class);
+
+    @Autowired
+    private EventTransport transport;
+
+    @Autowired
+    private List<DomainEventListener> listeners;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${devchat.cluster.node-id:}")
+    private String nodeId;
+
+    @Value("${devchat.cluster.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${devchat.cluster.max-pending:100000}")
+    private int maxPending;
+
+    private final ConcurrentLinkedQueue<DomainEvent> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    // Guards unsent and sending; batches are sent with the lock released, one at a time
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition idle = lock.newCondition();
+    private List<DomainEvent> unsent = List.of();
+    private boolean sending;
+
+    @PostConstruct
+    public void connect() {
+        if (nodeId.isBlank()) {
+            nodeId = UUID.randomUUID().toString();
+        }
+        transport.connect(nodeId, this::receive);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void publish(DomainEvent event) {
+        if (pendingCount.incrementAndGet() > maxPending) {
+            pendingCount.decrementAndGet();
+            meterRegistry.counter("devchat.cluster.events.dropped").increment();
+            return;
+        }
+        pending.add(event);
+    }
+
+    public void publishAll(Iterable<DomainEvent> events) {
+        events.forEach(this::publish);
+    }
+
+    public void push(ThreadEventDto event) {
+        try {
+            publish(DomainEvent.push(event.getThreadId(), objectMapper.writeValueAsString(event)));
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialize {} event for thread {}", event.getType(), event.getThreadId(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${devchat.cluster.flush-ms:50}")
+    public void flush() {
+        // Bounded by what is queued now, so a steady stream of writes can't hold the scheduler
+        int batches = pendingCount.get() / batchSize + 2;
+        for (int i = 0; i < batches; i++) {
+            List<DomainEvent> batch = claimBatch();
+            if (batch.isEmpty()) {
+                return;
+            }
+            boolean sent = false;
+            try {
+                transport.send(batch);
+                sent = true;
+                meterRegistry.counter("devchat.cluster.events.sent").increment(batch.size());
+            } catch (RuntimeException e) {
+                logger.warn("Sending {} domain events failed; retrying on the next flush", batch.size(), e);
+            } finally {
+                release(sent ? List.of() : batch);
+            }
+            if (!sent) {
+                return;
+            }
+        }
+    }
+
+    // Waits for a send in progress elsewhere, so batches leave in order and a flush() that
+    // returns has sent everything queued before it
+    private List<DomainEvent> claimBatch() {
+        lock.lock();
+        try {
+            while (sending) {
+                idle.awaitUninterruptibly();
+            }
+            List<DomainEvent> batch = unsent.isEmpty() ? nextBatch() : unsent;
+            sending = !batch.isEmpty();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(List<DomainEvent> failed) {
+        lock.lock();
+        try {
+            unsent = failed;
+            sending = false;
+            idle.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private List<DomainEvent> nextBatch() {
+        List<DomainEvent> drained = new ArrayList<>();
+        DomainEvent event;
+        while (drained.size() < batchSize && (event = pending.poll()) != null) {
+            drained.add(event);
+        }
+        pendingCount.addAndGet(-drained.size());
+        return coalesce(drained);
+    }
+
+    private void receive(List<DomainEvent> events) {
+        List<DomainEvent> batch = coalesce(events);
+        meterRegistry.counter("devchat.cluster.events.received").increment(batch.size());
+        for (DomainEventListener listener : listeners) {
+            try {
+                listener.onEvents(batch);
+            } catch (RuntimeException e) {
+                logger.error("Applying {} domain events failed", batch.size(), e);
+            }
+        }
+    }
+
+    // Keeps the first of each group of equal events, and every push in order
+    static List<DomainEvent> coalesce(List<DomainEvent> events) {
+        Set<DomainEvent> seen = new HashSet<>();
+        List<DomainEvent> merged = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            if (!event.coalesces() || seen.add(event)) {
+                merged.add(event);
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,9 @@
+package com.devchat.backend.cluster;
+
+import java.util.List;
+
+/** Applies batches of events published by other nodes to this node's state. */
+public interface DomainEventListener {
+
+    void onEvents(List<DomainEvent> events);
+}
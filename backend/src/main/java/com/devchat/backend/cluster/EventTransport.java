@@ -0,0 +1,17 @@
+package com.devchat.backend.cluster;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Carries batches of domain events between the nodes of a cluster. Selected with
+ * {@code devchat.cluster.transport}: {@code in-jvm} (default) or {@code outbox}.
+ */
+public interface EventTransport {
+
+    /** Joins the cluster; batches published by other nodes are passed to {@code receiver}. */
+    void connect(String nodeId, Consumer<List<DomainEvent>> receiver);
+
+    /** Hands a batch of this node's events to the other nodes. May throw if it cannot. */
+    void send(List<DomainEvent> events);
+}
@@ -0,0 +1,75 @@
+package com.devchat.backend.cluster;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Connects the application contexts running in one JVM. A single deployed node has no peers and
+ * sends nowhere; tests and benchmarks start several contexts with the same
+ * {@code devchat.cluster.name} to get a cluster without a database in between.
+ *
+ * <p>Each node applies incoming batches on its own thread, in the order they were sent.
+ */
+@Component
+@ConditionalOnProperty(name = "devchat.cluster.transport", havingValue = "in-jvm", matchIfMissing = true)
+public class InJvmEventTransport implements EventTransport {
+
+    private static final Map<String, Set<InJvmEventTransport>> CLUSTERS = new ConcurrentHashMap<>();
+
+    private final String cluster;
+    private final ExecutorService delivery;
+    private volatile Consumer<List<DomainEvent>> receiver;
+
+    public InJvmEventTransport(@Value("${devchat.cluster.name:devchat}") String cluster) {
+        this.cluster = cluster;
+        this.delivery = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cluster-event-delivery");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void connect(String nodeId, Consumer<List<DomainEvent>> receiver) {
+        this.receiver = receiver;
+        CLUSTERS.computeIfAbsent(cluster, name -> ConcurrentHashMap.newKeySet()).add(this);
+    }
+
+    @Override
+    public void send(List<DomainEvent> events) {
+        List<DomainEvent> batch = List.copyOf(events);
+        for (InJvmEventTransport peer : CLUSTERS.getOrDefault(cluster, Set.of())) {
+            if (peer != this) {
+                peer.deliver(batch);
+            }
+        }
+    }
+
+    private void deliver(List<DomainEvent> batch) {
+        try {
+            delivery.execute(() -> receiver.accept(batch));
+        } catch (RejectedExecutionException e) {
+            // Peer is shutting down
+        }
+    }
+
+    @PreDestroy
+    public void disconnect() {
+        CLUSTERS.computeIfPresent(cluster, (name, nodes) -> {
+            nodes.remove(this);
+            return nodes.isEmpty() ? null : nodes;
+        });
+        delivery.shutdownNow();
+    }
+}
@@ -0,0 +1,168 @@
+package com.devchat.backend.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Shares events through the {@code domain_events} table. Each batch is written with one JDBC
+ * batch insert; every node polls for rows above its watermark and applies the ones written by
+ * other nodes. Nodes share nothing but the database, so any number of them can join.
+ *
+ * <p>Auto-increment ids are allocated before commit, so a row can become visible after rows
+ * with higher ids. Rows are delivered as soon as they are seen; the watermark only moves past
+ * an id once it has been seen, or once it has been missing for
+ * {@code devchat.cluster.outbox.gap-timeout-ms} (a rolled-back insert never shows up). Ids
+ * above the watermark that were already delivered are remembered and skipped.
+ *
+ * <p>A node starts at the current end of the table: it builds its state from the database and
+ * needs no history. Rows older than {@code devchat.cluster.outbox.retention-minutes} are deleted.
+ */
+@Component
+@ConditionalOnProperty(name = "devchat.cluster.transport", havingValue = "outbox")
+public class OutboxEventTransport implements EventTransport {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxEventTransport.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO domain_events (node_id, event_type, entity_id, thread_id, data, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String POLL_SQL =
+            "SELECT id, node_id, event_type, entity_id, thread_id, data FROM domain_events WHERE id > ? ORDER BY id LIMIT ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${devchat.cluster.outbox.poll-batch-size:1000}")
+    private int pollBatchSize;
+
+    @Value("${devchat.cluster.outbox.gap-timeout-ms:10000}")
+    private long gapTimeoutMs;
+
+    @Value("${devchat.cluster.outbox.retention-minutes:60}")
+    private long retentionMinutes;
+
+    @Value("${devchat.cluster.outbox.purge-chunk-size:5000}")
+    private int purgeChunkSize;
+
+    private volatile String nodeId;
+    private Consumer<List<DomainEvent>> receiver;
+
+    // Held across a poll so rows are delivered in order; a ReentrantLock, so a virtual thread
+    // waiting on the query doesn't pin its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock; every id <= watermark has been handled
+    private long watermark;
+    private final TreeSet<Long> deliveredAbove = new TreeSet<>();
+    private long gapAt = -1;
+    private long gapSince;
+
+    private record Row(long id, String nodeId, DomainEvent event) {}
+
+    @Override
+    public void connect(String nodeId, Consumer<List<DomainEvent>> receiver) {
+        long end = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM domain_events", Long.class);
+        lock.lock();
+        try {
+            this.nodeId = nodeId;
+            this.watermark = end;
+            this.receiver = receiver;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void send(List<DomainEvent> events) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setString(1, nodeId);
+            ps.setString(2, event.type().name());
+            ps.setLong(3, event.id());
+            ps.setObject(4, event.threadId());
+            ps.setString(5, event.data());
+            ps.setTimestamp(6, now);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${devchat.cluster.outbox.poll-ms:200}")
+    public void poll() {
+        lock.lock();
+        try {
+            pollLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void pollLocked() {
+        if (receiver == null) {
+            return;
+        }
+        List<Row> rows;
+        try {
+            rows = jdbcTemplate.query(POLL_SQL, (rs, n) -> new Row(rs.getLong("id"), rs.getString("node_id"),
+                    new DomainEvent(DomainEvent.Type.valueOf(rs.getString("event_type")), rs.getLong("entity_id"),
+                            rs.getObject("thread_id", Long.class), rs.getString("data"))),
+                    watermark, pollBatchSize + deliveredAbove.size());
+        } catch (RuntimeException e) {
+            logger.warn("Polling domain events failed", e);
+            return;
+        }
+
+        List<DomainEvent> fromOthers = new ArrayList<>();
+        for (Row row : rows) {
+            if (deliveredAbove.add(row.id()) && !row.nodeId().equals(nodeId)) {
+                fromOthers.add(row.event());
+            }
+        }
+        if (!fromOthers.isEmpty()) {
+            receiver.accept(fromOthers);
+        }
+        advanceWatermark();
+    }
+
+    private void advanceWatermark() {
+        while (!deliveredAbove.isEmpty()) {
+            if (deliveredAbove.first() == watermark + 1) {
+                watermark = deliveredAbove.pollFirst();
+            } else if (gapAt == watermark && System.currentTimeMillis() - gapSince >= gapTimeoutMs) {
+                // Never committed (rolled back), or far too late to matter
+                logger.debug("Skipping domain event ids {} to {}", watermark + 1, deliveredAbove.first() - 1);
+                watermark = deliveredAbove.first() - 1;
+            } else {
+                if (gapAt != watermark) {
+                    gapAt = watermark;
+                    gapSince = System.currentTimeMillis();
+                }
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${devchat.cluster.outbox.purge-interval-ms:60000}")
+    public void purge() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusMinutes(retentionMinutes));
+        try {
+            // Chunked so the delete never holds locks on a large range while nodes insert
+            while (jdbcTemplate.update("DELETE FROM domain_events WHERE created_at < ? LIMIT " + purgeChunkSize, cutoff) == purgeChunkSize) {
+                logger.debug("Purged {} domain events", purgeChunkSize);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Purging domain events failed", e);
+        }
+    }
+}
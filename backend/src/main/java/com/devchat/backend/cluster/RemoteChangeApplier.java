@@ -0,0 +1,146 @@
+package com.devchat.backend.cluster;
+
+import com.devchat.backend.config.CacheConfig;
+import com.devchat.backend.dto.ThreadEventDto;
+import com.devchat.backend.entity.Message;
+import com.devchat.backend.entity.Thread;
+import com.devchat.backend.ranking.HotThreadRanking;
+import com.devchat.backend.realtime.ContentVersions;
+import com.devchat.backend.realtime.ThreadEventBroadcaster;
+import com.devchat.backend.repository.MessageRepository;
+import com.devchat.backend.repository.ThreadRepository;
+import com.devchat.backend.search.SearchIndex;
+import com.devchat.backend.search.UsernamePrefixIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Brings this node's in-memory state in line with changes committed by other nodes. Saved
+ * threads and messages are re-read in one query per batch, and one that is gone by then is
+ * treated as deleted.
+ */
+@Component
+public class RemoteChangeApplier implements DomainEventListener {
+    private static final Logger logger = LoggerFactory.getLogger(RemoteChangeApplier.class);
+
+    @Autowired
+    private ThreadRepository threadRepo;
+
+    @Autowired
+    private MessageRepository messageRepo;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private HotThreadRanking hotThreadRanking;
+
+    @Autowired
+    private ContentVersions contentVersions;
+
+    @Autowired
+    private ThreadEventBroadcaster broadcaster;
+
+    @Autowired
+    private UsernamePrefixIndex usernameIndex;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        Set<Long> savedThreads = new LinkedHashSet<>();
+        Set<Long> deletedThreads = new HashSet<>();
+        Set<Long> savedMessages = new LinkedHashSet<>();
+        boolean statsChanged = false;
+        for (DomainEvent event : events) {
+            switch (event.type()) {
+                case THREAD_SAVED -> savedThreads.add(event.id());
+                case THREAD_DELETED -> deletedThreads.add(event.id());
+                case THREAD_STATS_CHANGED -> {
+                    evictThread(event.id());
+                    hotThreadRanking.markDirty(event.id());
+                    contentVersions.threadChanged(event.id());
+                    statsChanged = true;
+                }
+                case MESSAGE_SAVED -> savedMessages.add(event.id());
+                case MESSAGE_DELETED -> {
+                    searchIndex.removeMessage(event.id());
+                    contentVersions.votesChanged(event.id());
+                }
+                case VOTES_CHANGED -> {
+                    contentVersions.votesChanged(event.id());
+                    contentVersions.threadChanged(event.threadId());
+                }
+                case USER_VERIFIED -> usernameIndex.add(event.data());
+                case PUSH -> push(event);
+            }
+        }
+
+        boolean threadsChanged = statsChanged || !savedThreads.isEmpty() || !deletedThreads.isEmpty();
+        if (!savedThreads.isEmpty()) {
+            for (Thread thread : threadRepo.findAllWithAuthorByIdIn(savedThreads)) {
+                savedThreads.remove(thread.getId());
+                searchIndex.indexThread(thread.getId(), thread.getTitle(), thread.getContent());
+                hotThreadRanking.markDirty(thread.getId());
+                evictThread(thread.getId());
+                contentVersions.threadChanged(thread.getId());
+            }
+            // Whatever was not found has been deleted since
+            deletedThreads.addAll(savedThreads);
+        }
+        for (Long threadId : deletedThreads) {
+            evictThread(threadId);
+            searchIndex.removeThread(threadId);
+            hotThreadRanking.remove(threadId);
+            contentVersions.threadChanged(threadId);
+        }
+        if (threadsChanged) {
+            Cache firstPage = cacheManager.getCache(CacheConfig.THREAD_FIRST_PAGE);
+            if (firstPage != null) {
+                firstPage.clear();
+            }
+        }
+
+        if (!savedMessages.isEmpty()) {
+            for (Message message : messageRepo.findAllWithSenderByIdIn(savedMessages)) {
+                savedMessages.remove(message.getId());
+                searchIndex.indexMessage(message.getId(), message.getThread().getId(), message.getContent());
+                contentVersions.threadChanged(message.getThread().getId());
+            }
+            savedMessages.forEach(searchIndex::removeMessage);
+        }
+    }
+
+    private void evictThread(Long threadId) {
+        Cache cache = cacheManager.getCache(CacheConfig.THREADS);
+        if (cache != null) {
+            cache.evict(threadId);
+        }
+    }
+
+    private void push(DomainEvent event) {
+        if (!broadcaster.hasSubscribers(event.threadId())) {
+            return;
+        }
+        try {
+            broadcaster.publish(objectMapper.readValue(event.data(), ThreadEventDto.class));
+        } catch (JsonProcessingException e) {
+            logger.warn("Dropping unreadable push event for thread {}", event.threadId(), e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.devchat.backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class CacheConfig {
+
+    public static final String THREADS = "threads";
+    public static final String THREAD_FIRST_PAGE = "threadFirstPage";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${devchat.cache.threads.max-size:10000}") long threadsMaxSize,
+                                     @Value("${devchat.cache.threads.ttl-seconds:300}") long threadsTtl,
+                                     @Value("${devchat.cache.thread-first-page.ttl-seconds:10}") long firstPageTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Fixed set of caches so each one is registered with the metrics binder at startup
+        cacheManager.setCacheNames(List.of());
+        cacheManager.registerCustomCache(THREADS, Caffeine.newBuilder()
+                .maximumSize(threadsMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(threadsTtl))
+                .recordStats()
+                .build());
+        // Keyed by page size; one entry per distinct limit clients ask for
+        cacheManager.registerCustomCache(THREAD_FIRST_PAGE, Caffeine.newBuilder()
+                .maximumSize(16)
+                .expireAfterWrite(Duration.ofSeconds(firstPageTtl))
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,69 @@
+package com.devchat.backend.config;
+
+import com.devchat.backend.replica.ReadConsistency;
+import com.devchat.backend.replica.ReadRoutingDataSource;
+import com.devchat.backend.replica.ReplicaPool;
+import com.devchat.backend.replica.WriteTrackingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sends read-only transactions to read replicas when {@code devchat.datasource.replicas.urls} is
+ * not blank (the example config leaves it empty, which keeps this off). The connection is only
+ * taken at the first statement, once the transaction is known to be read-only; everything else
+ * keeps using {@code spring.datasource}.
+ */
+@Configuration
+@ConditionalOnExpression("!'${devchat.datasource.replicas.urls:}'.isBlank()")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaPool replicaPool(DataSourceProperties properties, MeterRegistry meterRegistry,
+                                   @Value("${devchat.datasource.replicas.urls}") String urls,
+                                   @Value("${devchat.datasource.replicas.username:}") String username,
+                                   @Value("${devchat.datasource.replicas.password:}") String password,
+                                   @Value("${devchat.datasource.replicas.pool-size:10}") int poolSize,
+                                   @Value("${devchat.datasource.replicas.connection-timeout-ms:1000}") long connectionTimeoutMs,
+                                   @Value("${devchat.datasource.replicas.check-lag:false}") boolean checkLag,
+                                   @Value("${devchat.datasource.replicas.max-lag-ms:2000}") long maxLagMs) {
+        List<String> replicaUrls = Arrays.stream(urls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+        return new ReplicaPool(replicaUrls,
+                username.isEmpty() ? properties.determineUsername() : username,
+                username.isEmpty() ? properties.determinePassword() : password,
+                poolSize, connectionTimeoutMs, checkLag, maxLagMs, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPool replicaPool,
+                                 ReadConsistency readConsistency, MeterRegistry meterRegistry,
+                                 @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        // An open EntityManager keeps its first connection for the whole request, replica or not
+        if (openInView) {
+            throw new IllegalStateException("Read replicas require spring.jpa.open-in-view=false");
+        }
+        LazyConnectionDataSourceProxy dataSource =
+                new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primaryDataSource, readConsistency));
+        dataSource.setReadOnlyDataSource(
+                new ReadRoutingDataSource(primaryDataSource, replicaPool, readConsistency, meterRegistry));
+        return dataSource;
+    }
+}
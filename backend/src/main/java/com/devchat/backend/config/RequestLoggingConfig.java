@@ -1,20 +1,37 @@
 package com.devchat.backend.config;
 
+import com.devchat.backend.logging.AsyncRequestLogWriter;
+import com.devchat.backend.logging.SampledRequestLoggingFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.filter.CommonsRequestLoggingFilter;
+
+import java.util.List;
 
 @Configuration
+@ConditionalOnProperty(name = "devchat.request-log.enabled", havingValue = "true", matchIfMissing = true)
 public class RequestLoggingConfig {
 
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public AsyncRequestLogWriter requestLogWriter(@Value("${devchat.request-log.buffer-size:8192}") int bufferSize) {
+        return new AsyncRequestLogWriter(bufferSize);
+    }
+
     @Bean
-    public CommonsRequestLoggingFilter logFilter() {
-        CommonsRequestLoggingFilter filter = new CommonsRequestLoggingFilter();
-        filter.setIncludeQueryString(true);
-        filter.setIncludePayload(true);
-        filter.setMaxPayloadLength(10000);
-        filter.setIncludeHeaders(false);
-        filter.setAfterMessagePrefix("REQUEST DATA: ");
-        return filter;
+    public FilterRegistrationBean<SampledRequestLoggingFilter> logFilter(
+            AsyncRequestLogWriter writer,
+            @Value("${devchat.request-log.sample-rate:0.01}") double sampleRate,
+            @Value("${devchat.request-log.error-sample-rate:1.0}") double errorSampleRate,
+            @Value("${devchat.request-log.include-payload:false}") boolean includePayload,
+            @Value("${devchat.request-log.max-payload-length:512}") int maxPayloadLength,
+            @Value("${devchat.request-log.redact-fields:password,token,access_token}") List<String> redactFields) {
+        FilterRegistrationBean<SampledRequestLoggingFilter> registration = new FilterRegistrationBean<>(new SampledRequestLoggingFilter(
+                writer, sampleRate, errorSampleRate, includePayload, maxPayloadLength, redactFields));
+        // Wraps the security chain so 401, 403 and 429 responses are logged too
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
     }
-}
\ No newline at end of file
+}
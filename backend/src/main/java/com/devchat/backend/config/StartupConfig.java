@@ -0,0 +1,22 @@
+package com.devchat.backend.config;
+
+import com.devchat.backend.security.JwtFilter;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.web.SecurityFilterChain;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class StartupConfig {
+
+    // With spring.main.lazy-initialization (fast-startup profile), migrations, the connection pool,
+    // Hibernate and the security chain still start eagerly so the first request doesn't pay for them
+    @Bean
+    static LazyInitializationExcludeFilter eagerRequestPath() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, EntityManagerFactory.class,
+                SecurityFilterChain.class, JwtFilter.class);
+    }
+}
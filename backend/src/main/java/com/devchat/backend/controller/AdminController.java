@@ -1,5 +1,7 @@
 package com.devchat.backend.controller;
 
+import com.devchat.backend.dto.PageResponseDto;
+import com.devchat.backend.dto.ThreadPurgeStatusDto;
 import com.devchat.backend.dto.UserResponseDto;
 import com.devchat.backend.service.AdminService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,6 +9,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -21,6 +24,13 @@ public class AdminController {
         return adminService.getPendingUsers();
     }
 
+    @GetMapping("/pending-users/page")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPERADMIN')")
+    public PageResponseDto<UserResponseDto> getPendingUserPage(@RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) Integer limit) {
+        return adminService.getPendingUserPage(cursor, limit);
+    }
+
     @PostMapping("/verify-user/{userId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPERADMIN')")
     public String verifyUser(@PathVariable Long userId) {
@@ -32,4 +42,23 @@ public class AdminController {
     public List<UserResponseDto> getAllUsers() {
         return adminService.getAllUsersForAdmin();
     }
-}
\ No newline at end of file
+
+    @GetMapping("/all-users/page")
+    @PreAuthorize("hasRole('SUPERADMIN')")
+    public PageResponseDto<UserResponseDto> getUserPage(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer limit) {
+        return adminService.getUserPageForAdmin(cursor, limit);
+    }
+
+    @PostMapping("/threads/repair-stats")
+    @PreAuthorize("hasRole('SUPERADMIN')")
+    public Map<String, Object> repairThreadStats() {
+        return adminService.repairThreadStats();
+    }
+
+    @GetMapping("/thread-purges")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPERADMIN')")
+    public List<ThreadPurgeStatusDto> getThreadPurges() {
+        return adminService.getThreadPurges();
+    }
+}
@@ -1,11 +1,18 @@
 package com.devchat.backend.controller;
 
+import com.devchat.backend.dto.BulkImportResponseDto;
+import com.devchat.backend.dto.MessageImportDto;
 import com.devchat.backend.dto.MessageRequestDto;
 import com.devchat.backend.dto.MessageResponseDto;
+import com.devchat.backend.dto.PageResponseDto;
+import com.devchat.backend.realtime.ContentVersions;
 import com.devchat.backend.service.MessageService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -16,16 +23,41 @@ public class MessageController {
     @Autowired
     private MessageService messageService;
 
+    @Autowired
+    private ContentVersions contentVersions;
+
     @PostMapping
     public ResponseEntity<MessageResponseDto> postMessage(@RequestBody MessageRequestDto dto) {
         return ResponseEntity.ok(messageService.postMessage(dto));
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkImportResponseDto> importMessages(@RequestBody List<MessageImportDto> messages) {
+        return ResponseEntity.ok(messageService.importMessages(messages));
+    }
+
     @GetMapping("/thread/{threadId}")
-    public ResponseEntity<List<MessageResponseDto>> getMessagesByThread(@PathVariable Long threadId) {
+    public ResponseEntity<List<MessageResponseDto>> getMessagesByThread(@PathVariable Long threadId, WebRequest request) {
+        if (request.checkNotModified(contentVersions.threadMessagesEtag(threadId))) {
+            return null;
+        }
         return ResponseEntity.ok(messageService.getMessagesByThread(threadId));
     }
 
+    @GetMapping("/thread/{threadId}/page")
+    public ResponseEntity<PageResponseDto<MessageResponseDto>> getMessagePage(
+            @PathVariable Long threadId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(messageService.getMessagePage(threadId, before, after, limit));
+    }
+
+    @GetMapping(value = "/thread/{threadId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamThread(@PathVariable Long threadId) {
+        return messageService.subscribeToThread(threadId);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<MessageResponseDto> updateMessage(@PathVariable Long id, @RequestBody MessageRequestDto dto) {
         return ResponseEntity.ok(messageService.updateMessage(id, dto));
@@ -0,0 +1,33 @@
+package com.devchat.backend.controller;
+
+import com.devchat.backend.dto.PageResponseDto;
+import com.devchat.backend.dto.SearchResultDto;
+import com.devchat.backend.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    @Autowired
+    private SearchService searchService;
+
+    @GetMapping
+    public ResponseEntity<PageResponseDto<SearchResultDto>> search(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(searchService.search(query, cursor, limit));
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('SUPERADMIN')")
+    public Map<String, Object> rebuildIndex() {
+        return searchService.rebuildIndex();
+    }
+}
@@ -1,11 +1,14 @@
 package com.devchat.backend.controller;
 
+import com.devchat.backend.dto.PageResponseDto;
 import com.devchat.backend.dto.ThreadRequestDto;
 import com.devchat.backend.dto.ThreadResponseDto;
+import com.devchat.backend.realtime.ContentVersions;
 import com.devchat.backend.service.ThreadService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,16 +19,44 @@ public class ThreadController {
     @Autowired
     private ThreadService threadService;
 
+    @Autowired
+    private ContentVersions contentVersions;
+
     @PostMapping
     public ResponseEntity<ThreadResponseDto> createThread(@RequestBody ThreadRequestDto dto) {
         return ResponseEntity.ok(threadService.createThread(dto));
     }
 
     @GetMapping
-    public ResponseEntity<List<ThreadResponseDto>> getAllThreads() {
+    public ResponseEntity<List<ThreadResponseDto>> getAllThreads(WebRequest request) {
+        // Answered from the version counter alone when the client's copy is current
+        if (request.checkNotModified(contentVersions.threadListEtag())) {
+            return null;
+        }
         return ResponseEntity.ok(threadService.getAllThreads());
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<PageResponseDto<ThreadResponseDto>> getThreadPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(threadService.getThreadPage(cursor, limit));
+    }
+
+    @GetMapping("/active")
+    public ResponseEntity<PageResponseDto<ThreadResponseDto>> getActiveThreadPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(threadService.getActiveThreadPage(cursor, limit));
+    }
+
+    @GetMapping("/hot")
+    public ResponseEntity<PageResponseDto<ThreadResponseDto>> getHotThreadPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(threadService.getHotThreadPage(cursor, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ThreadResponseDto> getThreadById(@PathVariable Long id) {
         return ResponseEntity.ok(threadService.getThreadById(id));
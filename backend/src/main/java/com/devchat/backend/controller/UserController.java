@@ -1,5 +1,6 @@
 package com.devchat.backend.controller;
 
+import com.devchat.backend.dto.PageResponseDto;
 import com.devchat.backend.dto.UserRequestDto;
 import com.devchat.backend.dto.UserResponseDto;
 import com.devchat.backend.service.UserService;
@@ -25,4 +26,17 @@ public class UserController {
     public List<UserResponseDto> getAllUsers() {
         return userService.getAllUsers();
     }
+
+    @GetMapping("/page")
+    public PageResponseDto<UserResponseDto> getUserPage(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer limit) {
+        return userService.getUserPage(cursor, limit);
+    }
+
+    // @mention completion over verified users, case-insensitive
+    @GetMapping("/autocomplete")
+    public List<String> completeUsernames(@RequestParam(required = false) String prefix,
+                                          @RequestParam(required = false) Integer limit) {
+        return userService.completeUsernames(prefix, limit);
+    }
 }
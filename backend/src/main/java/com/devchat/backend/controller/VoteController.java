@@ -1,10 +1,12 @@
 package com.devchat.backend.controller;
 
 import com.devchat.backend.dto.VoteRequestDto;
+import com.devchat.backend.realtime.ContentVersions;
 import com.devchat.backend.service.VoteService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Map;
 
@@ -15,6 +17,9 @@ public class VoteController {
     @Autowired
     private VoteService voteService;
 
+    @Autowired
+    private ContentVersions contentVersions;
+
     @PostMapping
     @PreAuthorize("isAuthenticated()")
     public Map<String, Object> vote(@RequestBody VoteRequestDto dto) {
@@ -22,7 +27,10 @@ public class VoteController {
     }
 
     @GetMapping("/message/{messageId}")
-    public Map<String, Integer> getVoteCounts(@PathVariable Long messageId) {
+    public Map<String, Integer> getVoteCounts(@PathVariable Long messageId, WebRequest request) {
+        if (request.checkNotModified(contentVersions.messageVotesEtag(messageId))) {
+            return null;
+        }
         return voteService.getVoteCounts(messageId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.devchat.backend.dto;
+
+import java.util.List;
+
+public class BulkImportResponseDto {
+    private int imported;
+    private List<Long> ids;
+
+    public BulkImportResponseDto(int imported, List<Long> ids) {
+        this.imported = imported;
+        this.ids = ids;
+    }
+
+    public int getImported() { return imported; }
+    public void setImported(int imported) { this.imported = imported; }
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+}
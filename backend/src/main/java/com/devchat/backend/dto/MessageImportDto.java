@@ -0,0 +1,19 @@
+package com.devchat.backend.dto;
+
+import java.time.LocalDateTime;
+
+public class MessageImportDto {
+    private Long threadId;
+    private String content;
+    // Optional original time for migrated history; defaults to now
+    private LocalDateTime timestamp;
+
+    public Long getThreadId() { return threadId; }
+    public void setThreadId(Long threadId) { this.threadId = threadId; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+}
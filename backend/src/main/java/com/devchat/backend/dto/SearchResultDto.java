@@ -0,0 +1,40 @@
+package com.devchat.backend.dto;
+
+import com.devchat.backend.search.DocType;
+
+import java.time.LocalDateTime;
+
+public class SearchResultDto {
+    private DocType type;
+    private Long id;
+    private Long threadId;
+    private String title;
+    private String content;
+    private String author;
+    private LocalDateTime timestamp;
+    private double score;
+
+    public DocType getType() { return type; }
+    public void setType(DocType type) { this.type = type; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getThreadId() { return threadId; }
+    public void setThreadId(Long threadId) { this.threadId = threadId; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+
+    public String getAuthor() { return author; }
+    public void setAuthor(String author) { this.author = author; }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+}
@@ -0,0 +1,26 @@
+package com.devchat.backend.dto;
+
+import java.util.Map;
+
+public class ThreadEventDto {
+    private String type;
+    private Long threadId;
+    private Long messageId;
+    private MessageResponseDto message;
+    private Map<String, Integer> voteCounts;
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Long getThreadId() { return threadId; }
+    public void setThreadId(Long threadId) { this.threadId = threadId; }
+
+    public Long getMessageId() { return messageId; }
+    public void setMessageId(Long messageId) { this.messageId = messageId; }
+
+    public MessageResponseDto getMessage() { return message; }
+    public void setMessage(MessageResponseDto message) { this.message = message; }
+
+    public Map<String, Integer> getVoteCounts() { return voteCounts; }
+    public void setVoteCounts(Map<String, Integer> voteCounts) { this.voteCounts = voteCounts; }
+}
@@ -0,0 +1,34 @@
+package com.devchat.backend.dto;
+
+import java.time.LocalDateTime;
+
+public class ThreadPurgeStatusDto {
+    private Long threadId;
+    private String state;
+    private long votesDeleted;
+    private long messagesDeleted;
+    private LocalDateTime queuedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+
+    public Long getThreadId() { return threadId; }
+    public void setThreadId(Long threadId) { this.threadId = threadId; }
+
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+
+    public long getVotesDeleted() { return votesDeleted; }
+    public void setVotesDeleted(long votesDeleted) { this.votesDeleted = votesDeleted; }
+
+    public long getMessagesDeleted() { return messagesDeleted; }
+    public void setMessagesDeleted(long messagesDeleted) { this.messagesDeleted = messagesDeleted; }
+
+    public LocalDateTime getQueuedAt() { return queuedAt; }
+    public void setQueuedAt(LocalDateTime queuedAt) { this.queuedAt = queuedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
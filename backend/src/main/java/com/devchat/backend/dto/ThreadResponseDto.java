@@ -8,6 +8,10 @@ public class ThreadResponseDto {
     private String content;
     private String author;
     private LocalDateTime createdAt;
+    private int messageCount;
+    private LocalDateTime lastMessageAt;
+    private String lastReplier;
+    private int score;
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -23,4 +27,16 @@ public class ThreadResponseDto {
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public int getMessageCount() { return messageCount; }
+    public void setMessageCount(int messageCount) { this.messageCount = messageCount; }
+
+    public LocalDateTime getLastMessageAt() { return lastMessageAt; }
+    public void setLastMessageAt(LocalDateTime lastMessageAt) { this.lastMessageAt = lastMessageAt; }
+
+    public String getLastReplier() { return lastReplier; }
+    public void setLastReplier(String lastReplier) { this.lastReplier = lastReplier; }
+
+    public int getScore() { return score; }
+    public void setScore(int score) { this.score = score; }
 }
@@ -1,10 +1,19 @@
 package com.devchat.backend.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.SQLRestriction;
+
 import java.time.LocalDateTime;
 
+// Tombstoned threads are invisible to every JPA read while ThreadPurger removes their rows
 @Entity
-@Table(name = "threads")
+@SQLRestriction("deleted_at IS NULL")
+@Table(name = "threads", indexes = {
+        @Index(name = "idx_threads_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_threads_last_activity_id", columnList = "last_activity_at, id"),
+        @Index(name = "idx_threads_hot_rank_id", columnList = "hot_rank, id"),
+        @Index(name = "idx_threads_deleted_at", columnList = "deleted_at")
+})
 public class Thread {
 
     @Id
@@ -14,11 +23,31 @@ public class Thread {
     private String title;
     private String content;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User author;
 
     private LocalDateTime createdAt;
 
+    // Denormalized activity stats, maintained with relative updates by ThreadStatsUpdater
+    @Column(nullable = false)
+    private int messageCount = 0;
+
+    private LocalDateTime lastMessageAt;
+
+    private String lastReplierUsername;
+
+    // Sum of (upvotes - downvotes) over the thread's messages
+    @Column(nullable = false)
+    private int score = 0;
+
+    // Latest of createdAt and lastMessageAt; the sort key for the activity feed
+    private LocalDateTime lastActivityAt;
+
+    // Last persisted value of HotScore; the live ranking is held in memory by HotThreadRanking
+    private Double hotRank;
+
+    private LocalDateTime deletedAt;
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -34,4 +63,25 @@ public class Thread {
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public int getMessageCount() { return messageCount; }
+    public void setMessageCount(int messageCount) { this.messageCount = messageCount; }
+
+    public LocalDateTime getLastMessageAt() { return lastMessageAt; }
+    public void setLastMessageAt(LocalDateTime lastMessageAt) { this.lastMessageAt = lastMessageAt; }
+
+    public String getLastReplierUsername() { return lastReplierUsername; }
+    public void setLastReplierUsername(String lastReplierUsername) { this.lastReplierUsername = lastReplierUsername; }
+
+    public int getScore() { return score; }
+    public void setScore(int score) { this.score = score; }
+
+    public LocalDateTime getLastActivityAt() { return lastActivityAt; }
+    public void setLastActivityAt(LocalDateTime lastActivityAt) { this.lastActivityAt = lastActivityAt; }
+
+    public Double getHotRank() { return hotRank; }
+    public void setHotRank(Double hotRank) { this.hotRank = hotRank; }
+
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(LocalDateTime deletedAt) { this.deletedAt = deletedAt; }
 }
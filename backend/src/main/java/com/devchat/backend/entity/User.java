@@ -4,7 +4,9 @@ import com.devchat.backend.enums.Role;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_verified_role_id", columnList = "verified, role, id")
+})
 public class User {
 
     @Id
@@ -6,6 +6,8 @@ import jakarta.persistence.*;
 @Entity
 @Table(name = "votes", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"user_id", "message_id"})
+}, indexes = {
+        @Index(name = "idx_votes_message_type", columnList = "message_id, vote_type")
 })
 public class Vote {
 
@@ -13,11 +15,11 @@ public class Vote {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "message_id", nullable = false)
     private Message message;
 
@@ -0,0 +1,7 @@
+package com.devchat.backend.exception;
+
+public class InvalidImportException extends RuntimeException {
+    public InvalidImportException(String message) {
+        super(message);
+    }
+}
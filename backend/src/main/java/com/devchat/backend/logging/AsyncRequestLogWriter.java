@@ -0,0 +1,92 @@
+package com.devchat.backend.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drains the request log ring buffer on a background thread and writes one line per request to
+ * the {@code devchat.requests} logger.
+ */
+public class AsyncRequestLogWriter {
+    private static final Logger requestLog = LoggerFactory.getLogger("devchat.requests");
+    private static final Logger logger = LoggerFactory.getLogger(AsyncRequestLogWriter.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private final RequestLogRingBuffer<RequestLogEntry> buffer;
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long reportedDrops;
+
+    public AsyncRequestLogWriter(int bufferSize) {
+        this.buffer = new RequestLogRingBuffer<>(bufferSize);
+        this.worker = new Thread(this::run, "request-log-writer");
+        this.worker.setDaemon(true);
+    }
+
+    public void start() {
+        worker.start();
+    }
+
+    public void stop() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    boolean submit(RequestLogEntry entry) {
+        return buffer.offer(entry);
+    }
+
+    private void run() {
+        while (running) {
+            if (!drain()) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        drain();
+    }
+
+    private boolean drain() {
+        boolean wrote = false;
+        RequestLogEntry entry;
+        while ((entry = buffer.poll()) != null) {
+            write(entry);
+            wrote = true;
+        }
+        long drops = buffer.droppedCount();
+        if (drops != reportedDrops) {
+            logger.warn("Request log buffer full; {} entries dropped so far", drops);
+            reportedDrops = drops;
+        }
+        return wrote;
+    }
+
+    private void write(RequestLogEntry entry) {
+        if (!requestLog.isInfoEnabled()) {
+            return;
+        }
+        StringBuilder line = new StringBuilder(128)
+                .append(Instant.ofEpochMilli(entry.timestamp()))
+                .append(' ').append(entry.method())
+                .append(' ').append(entry.uri());
+        if (entry.query() != null) {
+            line.append('?').append(entry.query());
+        }
+        line.append(" status=").append(entry.status())
+                .append(" durationUs=").append(entry.durationMicros())
+                .append(" user=").append(entry.user() != null ? entry.user() : "-");
+        if (entry.payload() != null) {
+            line.append(" payload=").append(entry.payload());
+        }
+        requestLog.info(line.toString());
+    }
+}
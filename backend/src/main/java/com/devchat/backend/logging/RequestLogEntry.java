@@ -0,0 +1,7 @@
+package com.devchat.backend.logging;
+
+/**
+ * Raw request metadata captured on the request thread; formatting happens on the writer thread.
+ */
+record RequestLogEntry(long timestamp, String method, String uri, String query, int status,
+                       long durationMicros, String user, String payload) {}
@@ -0,0 +1,55 @@
+package com.devchat.backend.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free multi-producer/single-consumer ring buffer. Producers never block: when the
+ * buffer is full the entry is dropped and counted.
+ */
+class RequestLogRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long head;
+
+    RequestLogRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    boolean offer(E element) {
+        while (true) {
+            long t = tail.get();
+            if (t - head >= slots.length()) {
+                dropped.incrementAndGet();
+                return false;
+            }
+            if (tail.compareAndSet(t, t + 1)) {
+                slots.set((int) (t & mask), element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Consumer side only. Returns null when empty or when the next claimed slot is not yet published.
+     */
+    E poll() {
+        int index = (int) (head & mask);
+        E element = slots.get(index);
+        if (element == null) {
+            return null;
+        }
+        slots.set(index, null);
+        head = head + 1;
+        return element;
+    }
+
+    long droppedCount() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,106 @@
+package com.devchat.backend.logging;
+
+import com.devchat.backend.security.JwtFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Logs a sample of requests without doing the formatting or I/O on the request thread: metadata
+ * is handed to {@link AsyncRequestLogWriter}. Error responses use their own sample rate, and
+ * payloads are captured only for sampled requests, truncated and with sensitive fields redacted.
+ */
+public class SampledRequestLoggingFilter extends OncePerRequestFilter {
+
+    private final AsyncRequestLogWriter writer;
+    private final double sampleRate;
+    private final double errorSampleRate;
+    private final boolean includePayload;
+    private final int maxPayloadLength;
+    private final Pattern jsonFieldPattern;
+    private final Pattern queryParamPattern;
+
+    public SampledRequestLoggingFilter(AsyncRequestLogWriter writer, double sampleRate, double errorSampleRate,
+                                       boolean includePayload, int maxPayloadLength, List<String> redactFields) {
+        this.writer = writer;
+        this.sampleRate = sampleRate;
+        this.errorSampleRate = errorSampleRate;
+        this.includePayload = includePayload;
+        this.maxPayloadLength = maxPayloadLength;
+        String fields = String.join("|", redactFields.stream().map(Pattern::quote).toList());
+        // The capture may end inside a value, so a string may also run to the end of the text
+        this.jsonFieldPattern = Pattern.compile("(\"(?:" + fields + ")\"\\s*:\\s*)\"(?:[^\"\\\\]|\\\\.)*(?:\"|\\\\?$)", Pattern.CASE_INSENSITIVE);
+        this.queryParamPattern = Pattern.compile("((?:^|&)(?:" + fields + ")=)[^&]*", Pattern.CASE_INSENSITIVE);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        HttpServletRequest target = sampled && includePayload
+                ? new ContentCachingRequestWrapper(request, maxPayloadLength + 1)
+                : request;
+
+        long started = System.nanoTime();
+        try {
+            filterChain.doFilter(target, response);
+        } finally {
+            int status = response.getStatus();
+            if (sampled || (status >= 400 && errorSampleRate > 0
+                    && ThreadLocalRandom.current().nextDouble() < errorSampleRate)) {
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                String username = authentication != null
+                        ? authentication.getName()
+                        : (String) request.getAttribute(JwtFilter.USERNAME_ATTRIBUTE);
+                writer.submit(new RequestLogEntry(
+                        System.currentTimeMillis(),
+                        request.getMethod(),
+                        request.getRequestURI(),
+                        redactQuery(request.getQueryString()),
+                        status,
+                        (System.nanoTime() - started) / 1000,
+                        username,
+                        target instanceof ContentCachingRequestWrapper wrapper ? payload(wrapper) : null));
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return true;
+    }
+
+    private String redactQuery(String query) {
+        if (query == null) {
+            return null;
+        }
+        return queryParamPattern.matcher(query).replaceAll("$1***");
+    }
+
+    private String payload(ContentCachingRequestWrapper wrapper) {
+        byte[] body = wrapper.getContentAsByteArray();
+        if (body.length == 0) {
+            return null;
+        }
+        // One byte past the limit is captured, so a longer body is known to have been cut
+        String text = new String(body, StandardCharsets.UTF_8);
+        Matcher matcher = jsonFieldPattern.matcher(text);
+        text = matcher.replaceAll("$1\"***\"");
+        if (body.length > maxPayloadLength) {
+            return text.substring(0, Math.min(text.length(), maxPayloadLength)) + "...(truncated)";
+        }
+        return text;
+    }
+}
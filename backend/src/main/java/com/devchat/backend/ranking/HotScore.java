@@ -0,0 +1,28 @@
+package com.devchat.backend.ranking;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Reddit-style hot score: the order of magnitude of a thread's engagement plus its creation
+ * time scaled so that every {@value #DECAY_SECONDS} seconds of age is worth a factor of ten in
+ * engagement. Because the time term depends on creation time rather than "now", a score only
+ * changes when the thread's votes or replies do, and relative order is stable as time passes.
+ */
+public final class HotScore {
+
+    static final long DECAY_SECONDS = 45_000;
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private HotScore() {}
+
+    public static double of(LocalDateTime createdAt, int score, int messageCount) {
+        // A reply counts as much as an upvote
+        long points = (long) score + messageCount;
+        double order = Math.log10(Math.max(Math.abs(points), 1));
+        double sign = Math.signum(points);
+        double seconds = Duration.between(EPOCH, createdAt).getSeconds();
+        return sign * order + seconds / DECAY_SECONDS;
+    }
+}
@@ -0,0 +1,236 @@
+package com.devchat.backend.ranking;
+
+import com.devchat.backend.repository.ThreadHotStatsView;
+import com.devchat.backend.repository.ThreadRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory top-K of threads by {@link HotScore}. Message and vote commits mark a thread dirty;
+ * a short-interval refresher reloads the stats of dirty threads in one query and re-ranks them,
+ * so a burst of votes on one thread costs a single update. Pages are read straight off the
+ * sorted set in O(log K + page).
+ *
+ * <p>Scores are written back to {@code threads.hot_rank} periodically, and the top K is loaded
+ * from that column's index at startup.
+ *
+ * <p>Writers take a {@link ReentrantLock} rather than a monitor, and never hold it across a query,
+ * so virtual threads don't pin their carrier while waiting.
+ */
+@Component
+public class HotThreadRanking {
+    private static final Logger logger = LoggerFactory.getLogger(HotThreadRanking.class);
+
+    private static final String PERSIST_SQL = "UPDATE threads SET hot_rank = ? WHERE id = ?";
+    private static final int REFRESH_CHUNK = 500;
+
+    public record RankedThread(long threadId, double score) {}
+
+    private static final Comparator<RankedThread> ORDER = Comparator
+            .comparingDouble(RankedThread::score).reversed()
+            .thenComparing(Comparator.comparingLong(RankedThread::threadId).reversed());
+
+    @Autowired
+    private ThreadRepository threadRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${devchat.hot.capacity:1000}")
+    private int capacity;
+
+    private final ConcurrentSkipListSet<RankedThread> ranked = new ConcurrentSkipListSet<>(ORDER);
+    private final ConcurrentHashMap<Long, RankedThread> byThread = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<Long, Double> unpersisted = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    // Threads put or removed while a reload's query runs; guarded by lock
+    private Set<Long> changedDuringReload;
+
+    public void markDirty(Long threadId) {
+        dirty.add(threadId);
+    }
+
+    public void put(Long threadId, double score) {
+        lock.lock();
+        try {
+            unpersisted.put(threadId, score);
+            if (changedDuringReload != null) {
+                changedDuringReload.add(threadId);
+            }
+            rank(threadId, score);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rank(Long threadId, double score) {
+        RankedThread previous = byThread.remove(threadId);
+        if (previous != null) {
+            ranked.remove(previous);
+        }
+        RankedThread entry = new RankedThread(threadId, score);
+        if (byThread.size() >= capacity && ORDER.compare(entry, ranked.last()) > 0) {
+            return;
+        }
+        ranked.add(entry);
+        byThread.put(threadId, entry);
+        while (byThread.size() > capacity) {
+            RankedThread lowest = ranked.pollLast();
+            byThread.remove(lowest.threadId(), lowest);
+        }
+    }
+
+    public void remove(Long threadId) {
+        lock.lock();
+        try {
+            dirty.remove(threadId);
+            unpersisted.remove(threadId);
+            if (changedDuringReload != null) {
+                changedDuringReload.add(threadId);
+            }
+            RankedThread entry = byThread.remove(threadId);
+            if (entry != null) {
+                ranked.remove(entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} threads ranked below the given position, or from the top when
+     * {@code afterId} is null.
+     */
+    public List<RankedThread> page(Double afterScore, Long afterId, int limit) {
+        NavigableSet<RankedThread> view = afterId == null
+                ? ranked
+                : ranked.tailSet(new RankedThread(afterId, afterScore), false);
+        List<RankedThread> page = new ArrayList<>(limit);
+        Iterator<RankedThread> it = view.iterator();
+        while (page.size() < limit && it.hasNext()) {
+            page.add(it.next());
+        }
+        return page;
+    }
+
+    @Scheduled(fixedDelayString = "${devchat.hot.refresh-interval-ms:2000}")
+    public void refresh() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(dirty);
+        dirty.removeAll(ids);
+        for (int from = 0; from < ids.size(); from += REFRESH_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + REFRESH_CHUNK, ids.size()));
+            List<ThreadHotStatsView> rows;
+            try {
+                rows = threadRepo.findHotStatsByIdIn(chunk);
+            } catch (RuntimeException e) {
+                // Keep this chunk and the ones after it for the next run
+                dirty.addAll(ids.subList(from, ids.size()));
+                logger.error("Refreshing hot scores failed; retrying on the next run", e);
+                return;
+            }
+            Set<Long> missing = new HashSet<>(chunk);
+            for (ThreadHotStatsView stats : rows) {
+                missing.remove(stats.getId());
+                put(stats.getId(), HotScore.of(stats.getCreatedAt(), stats.getScore(), stats.getMessageCount()));
+            }
+            missing.forEach(this::remove);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${devchat.hot.persist-interval-ms:30000}")
+    public void persist() {
+        if (unpersisted.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, Double>> pending = unpersisted.entrySet().stream()
+                .map(e -> Map.entry(e.getKey(), e.getValue()))
+                .toList();
+        try {
+            jdbcTemplate.batchUpdate(PERSIST_SQL, pending, REFRESH_CHUNK, (ps, e) -> {
+                ps.setDouble(1, e.getValue());
+                ps.setLong(2, e.getKey());
+            });
+            // Keep anything re-scored while the batch was running for the next pass
+            pending.forEach(e -> unpersisted.remove(e.getKey(), e.getValue()));
+        } catch (RuntimeException e) {
+            logger.error("Persisting hot scores failed; retrying on the next run", e);
+        }
+    }
+
+    @PreDestroy
+    public void persistOnShutdown() {
+        persist();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    /**
+     * Replaces the ranking with the top K threads by persisted rank, re-scored from their current stats.
+     */
+    public void reload() {
+        reloadLock.lock();
+        try {
+            lock.lock();
+            try {
+                changedDuringReload = new HashSet<>();
+            } finally {
+                lock.unlock();
+            }
+
+            List<ThreadHotStatsView> top = null;
+            try {
+                top = threadRepo.findTopByHotRank(PageRequest.of(0, capacity));
+            } finally {
+                lock.lock();
+                try {
+                    // On failure the current ranking stays
+                    if (top != null) {
+                        ranked.clear();
+                        byThread.clear();
+                        for (ThreadHotStatsView stats : top) {
+                            rank(stats.getId(), HotScore.of(stats.getCreatedAt(), stats.getScore(), stats.getMessageCount()));
+                        }
+                        // The query may have read these before they changed; re-read them on the next refresh
+                        dirty.addAll(changedDuringReload);
+                    }
+                    changedDuringReload = null;
+                } finally {
+                    lock.unlock();
+                }
+            }
+            logger.info("Hot ranking loaded with {} threads", top.size());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.devchat.backend.realtime;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Version counters behind the ETags of the polling endpoints. Threads and messages map onto
+ * fixed arrays of striped counters, so memory is bounded and two ids sharing a stripe only
+ * cost an occasional unnecessary 200, never a wrong 304.
+ *
+ * <p>Counters are bumped after the change commits and read before the response body is
+ * loaded, so a body is never paired with a newer tag than its content. Tags carry a
+ * per-process epoch, so a restart or a different node never matches an old tag.
+ *
+ * <p>Versions are therefore per node: behind a load balancer, a poll that reaches another node
+ * than the last one gets a full 200 (and that node's tag) rather than a 304. No version shared by
+ * all nodes is used, because the cluster bus delivers changes in no particular order and a
+ * wrong 304 is worse than a missed one. Routing a client's polls to the same node keeps the saving.
+ *
+ * <p>Each counter also remembers when it last moved, so a read can ask for data at least that
+ * fresh (see {@code ReadConsistency}).
+ */
+@Component
+public class ContentVersions {
+
+    private static final int THREAD_STRIPES = 4096;
+    private static final int MESSAGE_STRIPES = 8192;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36)
+            + Integer.toString(ThreadLocalRandom.current().nextInt() & 0xffff, 36);
+
+    private final AtomicLong threadList = new AtomicLong();
+    private final AtomicLongArray threads = new AtomicLongArray(THREAD_STRIPES);
+    private final AtomicLongArray messageVotes = new AtomicLongArray(MESSAGE_STRIPES);
+
+    private final AtomicLong threadListChangedAt = new AtomicLong();
+    private final AtomicLongArray threadsChangedAt = new AtomicLongArray(THREAD_STRIPES);
+    private final AtomicLongArray messageVotesChangedAt = new AtomicLongArray(MESSAGE_STRIPES);
+
+    public void threadListChanged() {
+        threadList.incrementAndGet();
+        threadListChangedAt.set(System.currentTimeMillis());
+    }
+
+    // The thread's messages changed; list entries carry its stats, so the list moves too
+    public void threadChanged(Long threadId) {
+        int stripe = stripe(threadId, THREAD_STRIPES);
+        threads.incrementAndGet(stripe);
+        threadsChangedAt.set(stripe, System.currentTimeMillis());
+        threadListChanged();
+    }
+
+    public void votesChanged(Long messageId) {
+        int stripe = stripe(messageId, MESSAGE_STRIPES);
+        messageVotes.incrementAndGet(stripe);
+        messageVotesChangedAt.set(stripe, System.currentTimeMillis());
+    }
+
+    public void votesChanged(Collection<Long> messageIds) {
+        messageIds.forEach(this::votesChanged);
+    }
+
+    public String threadListEtag() {
+        return "W/\"tl-" + epoch + "-" + threadList.get() + "\"";
+    }
+
+    public String threadMessagesEtag(Long threadId) {
+        return "W/\"t" + threadId + "-" + epoch + "-" + threads.get(stripe(threadId, THREAD_STRIPES)) + "\"";
+    }
+
+    public String messageVotesEtag(Long messageId) {
+        return "W/\"mv" + messageId + "-" + epoch + "-" + messageVotes.get(stripe(messageId, MESSAGE_STRIPES)) + "\"";
+    }
+
+    public long threadListChangedAt() {
+        return threadListChangedAt.get();
+    }
+
+    public long threadChangedAt(Long threadId) {
+        return threadsChangedAt.get(stripe(threadId, THREAD_STRIPES));
+    }
+
+    public long votesChangedAt(Long messageId) {
+        return messageVotesChangedAt.get(stripe(messageId, MESSAGE_STRIPES));
+    }
+
+    private static int stripe(Long id, int stripes) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 40) & (stripes - 1);
+    }
+}
@@ -0,0 +1,175 @@
+package com.devchat.backend.realtime;
+
+import com.devchat.backend.dto.ThreadEventDto;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes thread events to Server-Sent Events subscribers of that thread. Publishing only
+ * enqueues; writes happen on a dispatcher pool so a slow client never blocks the request that
+ * produced the event.
+ *
+ * <p>A write to a stalled client blocks its dispatcher thread until the connector's write timeout.
+ * Such a subscriber is dropped once its write has been blocked for {@code devchat.push.send-timeout-ms},
+ * so it holds at most one thread, and the pool grows up to {@code devchat.push.dispatch-threads}
+ * so the other subscribers keep receiving events meanwhile.
+ */
+@Component
+public class ThreadEventBroadcaster {
+    private static final Logger logger = LoggerFactory.getLogger(ThreadEventBroadcaster.class);
+
+    private final Map<Long, Set<ThreadSubscription>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher;
+    private final int maxQueuedEvents;
+    private final long timeoutMs;
+    private final long sendTimeoutNanos;
+
+    public ThreadEventBroadcaster(@Value("${devchat.push.max-queued-events:256}") int maxQueuedEvents,
+                                  @Value("${devchat.push.timeout-ms:1800000}") long timeoutMs,
+                                  @Value("${devchat.push.dispatch-threads:32}") int dispatchThreads,
+                                  @Value("${devchat.push.send-timeout-ms:5000}") long sendTimeoutMs) {
+        this.maxQueuedEvents = maxQueuedEvents;
+        this.timeoutMs = timeoutMs;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        // Core size equal to the maximum so threads are added before tasks queue; idle ones exit
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "thread-event-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        this.dispatcher = pool;
+    }
+
+    public SseEmitter subscribe(Long threadId) {
+        return subscribe(threadId, new SseEmitter(timeoutMs));
+    }
+
+    SseEmitter subscribe(Long threadId, SseEmitter emitter) {
+        ThreadSubscription subscription = new ThreadSubscription(threadId, emitter, maxQueuedEvents);
+
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(() -> remove(subscription));
+        emitter.onError(e -> remove(subscription));
+
+        subscribers.compute(threadId, (id, targets) -> {
+            Set<ThreadSubscription> set = targets != null ? targets : ConcurrentHashMap.newKeySet();
+            set.add(subscription);
+            return set;
+        });
+        enqueue(subscription, SseEmitter.event().name("subscribed").data(threadId));
+        return emitter;
+    }
+
+    public void publish(ThreadEventDto event) {
+        Set<ThreadSubscription> targets = subscribers.get(event.getThreadId());
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+        for (ThreadSubscription subscription : targets) {
+            enqueue(subscription, SseEmitter.event()
+                    .name(event.getType())
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    public boolean hasSubscribers(Long threadId) {
+        return subscribers.containsKey(threadId);
+    }
+
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @Scheduled(fixedRateString = "${devchat.push.heartbeat-ms:25000}")
+    public void heartbeat() {
+        // Keeps idle connections open through proxies and surfaces clients that went away
+        for (Set<ThreadSubscription> targets : subscribers.values()) {
+            for (ThreadSubscription subscription : targets) {
+                enqueue(subscription, SseEmitter.event().comment("ping"));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${devchat.push.stall-check-ms:1000}")
+    public void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Set<ThreadSubscription> targets : subscribers.values()) {
+            for (ThreadSubscription subscription : targets) {
+                if (subscription.isStalled(now, sendTimeoutNanos)) {
+                    // Completing the emitter would wait for the blocked write; just stop feeding it
+                    logger.debug("Dropping stalled subscriber of thread {}", subscription.getThreadId());
+                    remove(subscription);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.values().forEach(targets -> targets.forEach(subscription -> {
+            subscription.close();
+            subscription.getEmitter().complete();
+        }));
+        subscribers.clear();
+    }
+
+    private void enqueue(ThreadSubscription subscription, SseEmitter.SseEventBuilder event) {
+        if (!subscription.offer(event)) {
+            if (!subscription.isClosed()) {
+                logger.debug("Dropping slow subscriber of thread {}", subscription.getThreadId());
+                subscription.getEmitter().complete();
+            }
+            remove(subscription);
+            return;
+        }
+        if (subscription.tryStartDrain()) {
+            try {
+                dispatcher.execute(() -> drain(subscription));
+            } catch (RejectedExecutionException e) {
+                remove(subscription);
+            }
+        }
+    }
+
+    private void drain(ThreadSubscription subscription) {
+        // Loop again if events arrived between the last poll and releasing the drain flag
+        do {
+            if (!subscription.drain()) {
+                remove(subscription);
+                // Also ends connections dropped while a write was stalled, once that write returns
+                try {
+                    subscription.getEmitter().complete();
+                } catch (RuntimeException e) {
+                    // Already completed or failed
+                }
+                return;
+            }
+        } while (subscription.tryStartDrain());
+    }
+
+    private void remove(ThreadSubscription subscription) {
+        subscription.close();
+        subscribers.computeIfPresent(subscription.getThreadId(), (id, targets) -> {
+            targets.remove(subscription);
+            return targets.isEmpty() ? null : targets;
+        });
+    }
+}
@@ -0,0 +1,83 @@
+package com.devchat.backend.realtime;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One SSE connection subscribed to a thread. Events are queued in a bounded buffer and written
+ * by a dispatcher thread; a subscriber whose buffer fills up is disconnected rather than
+ * allowed to grow without limit.
+ */
+class ThreadSubscription {
+
+    private final Long threadId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private volatile boolean closed;
+    // System.nanoTime() when the write in progress started, 0 while not writing
+    private volatile long sendingSince;
+
+    ThreadSubscription(Long threadId, SseEmitter emitter, int capacity) {
+        this.threadId = threadId;
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    Long getThreadId() { return threadId; }
+
+    SseEmitter getEmitter() { return emitter; }
+
+    boolean isClosed() { return closed; }
+
+    /**
+     * Queues an event; returns false when the buffer is full and the subscriber should be dropped.
+     */
+    boolean offer(SseEmitter.SseEventBuilder event) {
+        return !closed && queue.offer(event);
+    }
+
+    /**
+     * Claims the right to drain the queue; only one dispatcher writes to a connection at a time.
+     */
+    boolean tryStartDrain() {
+        return !queue.isEmpty() && draining.compareAndSet(false, true);
+    }
+
+    /**
+     * Writes queued events until the queue is empty. Returns false if the connection failed.
+     */
+    boolean drain() {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!closed && (event = queue.poll()) != null) {
+                sendingSince = System.nanoTime();
+                emitter.send(event);
+                sendingSince = 0;
+            }
+            return !closed;
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        } finally {
+            sendingSince = 0;
+            draining.set(false);
+        }
+    }
+
+    /**
+     * True while a single write has been blocked for longer than {@code timeoutNanos}.
+     */
+    boolean isStalled(long now, long timeoutNanos) {
+        long since = sendingSince;
+        return since != 0 && now - since > timeoutNanos;
+    }
+
+    void close() {
+        closed = true;
+        queue.clear();
+    }
+}
@@ -0,0 +1,96 @@
+package com.devchat.backend.replica;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+
+/**
+ * Decides whether a read may be served by a replica. Replicas are trusted to be at most
+ * {@code devchat.datasource.replicas.max-lag-ms} behind, so a read goes to the primary when it
+ * must include something committed more recently than that:
+ * <ul>
+ *   <li>the current user's own writes (read-your-writes), and</li>
+ *   <li>changes the request declared with {@link #requireChangesSince}, such as the change behind
+ *   an ETag or a cache entry, so a stale row is never served or cached under a fresh version.</li>
+ * </ul>
+ */
+@Component
+public class ReadConsistency {
+
+    private static final String REQUIRED_SINCE = ReadConsistency.class.getName() + ".requiredSince";
+
+    private final long maxLagMs;
+    private final Cache<String, Long> lastWriteByUser;
+
+    public ReadConsistency(@Value("${devchat.datasource.replicas.max-lag-ms:2000}") long maxLagMs,
+                           @Value("${devchat.datasource.replicas.max-tracked-users:100000}") long maxTrackedUsers) {
+        this.maxLagMs = maxLagMs;
+        this.lastWriteByUser = Caffeine.newBuilder()
+                .maximumSize(maxTrackedUsers)
+                .expireAfterWrite(Duration.ofMillis(Math.max(1, maxLagMs)))
+                .build();
+    }
+
+    /** The rest of this request must read data that includes changes made at {@code changedAtMillis}. */
+    public void requireChangesSince(long changedAtMillis) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null || changedAtMillis <= 0) {
+            return;
+        }
+        Long current = (Long) attributes.getAttribute(REQUIRED_SINCE, RequestAttributes.SCOPE_REQUEST);
+        if (current == null || changedAtMillis > current) {
+            attributes.setAttribute(REQUIRED_SINCE, changedAtMillis, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /** Records that the current user is writing; the window starts when the transaction commits. */
+    public void writing() {
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lastWriteByUser.put(user, System.currentTimeMillis());
+                }
+            });
+        } else {
+            lastWriteByUser.put(user, System.currentTimeMillis());
+        }
+    }
+
+    public boolean replicaMayServe() {
+        long since = 0;
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            Long required = (Long) attributes.getAttribute(REQUIRED_SINCE, RequestAttributes.SCOPE_REQUEST);
+            since = required != null ? required : 0;
+        }
+        String user = currentUser();
+        if (user != null) {
+            Long wroteAt = lastWriteByUser.getIfPresent(user);
+            since = Math.max(since, wroteAt != null ? wroteAt : 0);
+        }
+        return System.currentTimeMillis() - since > maxLagMs;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,65 @@
+package com.devchat.backend.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Where read-only transactions get their connection. Only transactions the application declares
+ * read-only go to a replica; the ones Spring Data opens around single repository calls stay on
+ * the primary, because code outside a transaction often reads a row right before writing it.
+ * Reads that {@link ReadConsistency} wants fresh, and all reads while no replica is healthy, go
+ * to the primary as well.
+ */
+public class ReadRoutingDataSource extends AbstractDataSource {
+
+    private static final String FRAMEWORK_TRANSACTIONS = "org.springframework.";
+
+    private final DataSource primary;
+    private final ReplicaPool replicas;
+    private final ReadConsistency consistency;
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+
+    public ReadRoutingDataSource(DataSource primary, ReplicaPool replicas, ReadConsistency consistency,
+                                 MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.consistency = consistency;
+        this.primaryReads = meterRegistry.counter("devchat.datasource.reads", "target", "primary");
+        this.replicaReads = meterRegistry.counter("devchat.datasource.reads", "target", "replica");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (routable()) {
+            ReplicaPool.Replica replica = replicas.pick();
+            if (replica != null) {
+                try {
+                    Connection connection = replica.getConnection();
+                    replicaReads.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    replicas.markDown(replica, e);
+                }
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    private boolean routable() {
+        String transaction = TransactionSynchronizationManager.getCurrentTransactionName();
+        return transaction != null && !transaction.startsWith(FRAMEWORK_TRANSACTIONS) && consistency.replicaMayServe();
+    }
+}
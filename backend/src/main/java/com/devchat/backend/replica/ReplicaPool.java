@@ -0,0 +1,151 @@
+package com.devchat.backend.replica;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One small connection pool per read replica. Every {@code devchat.datasource.replicas.health-check-ms}
+ * each replica is checked for a valid connection and, with {@code check-lag} on, for replication
+ * that is running and within {@code max-lag-ms}. Reads only go to replicas that passed their last
+ * check; one that fails a connection in between is taken out until it passes again.
+ */
+public class ReplicaPool implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaPool.class);
+
+    public static final class Replica {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy;
+
+        private Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Connection getConnection() throws SQLException {
+            return dataSource.getConnection();
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+    }
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final boolean checkLag;
+    private final long maxLagMs;
+
+    public ReplicaPool(List<String> urls, String username, String password, int poolSize,
+                       long connectionTimeoutMs, boolean checkLag, long maxLagMs, MeterRegistry meterRegistry) {
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("devchat.datasource.replicas.urls lists no replica URL");
+        }
+        this.checkLag = checkLag;
+        this.maxLagMs = maxLagMs;
+        for (String url : urls) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + (replicas.size() + 1));
+            config.setJdbcUrl(url);
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setReadOnly(true);
+            config.setMaximumPoolSize(poolSize);
+            config.setConnectionTimeout(connectionTimeoutMs);
+            // A replica that is down at startup must not keep the application from starting
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new Replica(config.getPoolName(), new HikariDataSource(config)));
+        }
+        meterRegistry.gauge("devchat.datasource.replicas.healthy", this, pool -> pool.healthyCount());
+        checkHealth();
+    }
+
+    /** The next healthy replica in turn, or null when there is none. */
+    public Replica pick() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    public void markDown(Replica replica, Exception cause) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            logger.warn("Read replica {} is down, reads fall back to the primary", replica.name, cause);
+        }
+    }
+
+    public int healthyCount() {
+        return (int) replicas.stream().filter(Replica::isHealthy).count();
+    }
+
+    @Scheduled(fixedDelayString = "${devchat.datasource.replicas.health-check-ms:5000}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            String problem = probe(replica);
+            if (problem == null && !replica.healthy) {
+                replica.healthy = true;
+                logger.info("Read replica {} is serving reads", replica.name);
+            } else if (problem != null && replica.healthy) {
+                replica.healthy = false;
+                logger.warn("Read replica {} is out of rotation: {}", replica.name, problem);
+            }
+        }
+    }
+
+    private String probe(Replica replica) {
+        try (Connection connection = replica.getConnection()) {
+            if (!connection.isValid(1)) {
+                return "connection is not valid";
+            }
+            return checkLag ? lagProblem(connection) : null;
+        } catch (SQLException e) {
+            return e.getMessage();
+        }
+    }
+
+    private String lagProblem(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!rs.next()) {
+                return "not replicating";
+            }
+            long behindSeconds = rs.getLong("Seconds_Behind_Source");
+            if (rs.wasNull()) {
+                return "replication is stopped";
+            }
+            return behindSeconds * 1000 > maxLagMs ? behindSeconds + "s behind the primary" : null;
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+}
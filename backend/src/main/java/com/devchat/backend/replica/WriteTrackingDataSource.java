@@ -0,0 +1,40 @@
+package com.devchat.backend.replica;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The primary as seen by everything that may write. Handing out a connection outside a read-only
+ * transaction counts as a write by the current user, which keeps their reads on the primary for a while.
+ */
+public class WriteTrackingDataSource extends DelegatingDataSource {
+
+    private final ReadConsistency consistency;
+
+    public WriteTrackingDataSource(DataSource primary, ReadConsistency consistency) {
+        super(primary);
+        this.consistency = consistency;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        track();
+        return super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        track();
+        return super.getConnection(username, password);
+    }
+
+    private void track() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            consistency.writing();
+        }
+    }
+}
@@ -1,10 +1,53 @@
 package com.devchat.backend.repository;
 
 import com.devchat.backend.entity.Message;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
-    List<Message> findByThreadId(Long threadId);
+    @EntityGraph(attributePaths = "sender")
+    Optional<Message> findWithSenderById(Long id);
+
+    // Derived queries would join threads to apply its @SQLRestriction; thread.id in JPQL reads the key column
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender WHERE m.thread.id = :threadId ORDER BY m.timestamp ASC, m.id ASC")
+    List<Message> findByThreadIdOrderByTimestampAscIdAsc(@Param("threadId") Long threadId);
+
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender WHERE m.id IN :ids")
+    List<Message> findAllWithSenderByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender WHERE m.thread.id = :threadId ORDER BY m.timestamp DESC, m.id DESC")
+    List<Message> findLatestInThread(@Param("threadId") Long threadId, Pageable pageable);
+
+    List<Message> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender WHERE m.thread.id = :threadId ORDER BY m.timestamp ASC, m.id ASC")
+    List<Message> findFirstInThread(@Param("threadId") Long threadId, Pageable pageable);
+
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender WHERE m.thread.id = :threadId AND (m.timestamp > :timestamp OR (m.timestamp = :timestamp AND m.id > :id)) ORDER BY m.timestamp ASC, m.id ASC")
+    List<Message> findInThreadAfter(@Param("threadId") Long threadId, @Param("timestamp") LocalDateTime timestamp,
+                                    @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender WHERE m.thread.id = :threadId AND (m.timestamp < :timestamp OR (m.timestamp = :timestamp AND m.id < :id)) ORDER BY m.timestamp DESC, m.id DESC")
+    List<Message> findInThreadBefore(@Param("threadId") Long threadId, @Param("timestamp") LocalDateTime timestamp,
+                                     @Param("id") Long id, Pageable pageable);
+
+    // Serializes votes on one message; returns empty when the message doesn't exist
+    @Query(value = "SELECT id FROM messages WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Message m SET m.upvotes = m.upvotes + :upDelta, m.downvotes = m.downvotes + :downDelta WHERE m.id = :id")
+    int adjustVoteCounts(@Param("id") Long id, @Param("upDelta") int upDelta, @Param("downDelta") int downDelta);
+
+    @Query("SELECT m.upvotes AS upvotes, m.downvotes AS downvotes, m.thread.id AS threadId FROM Message m WHERE m.id = :id")
+    Optional<VoteCountsView> findVoteCountsById(@Param("id") Long id);
 }
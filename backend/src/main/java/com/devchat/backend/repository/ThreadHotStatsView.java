@@ -0,0 +1,10 @@
+package com.devchat.backend.repository;
+
+import java.time.LocalDateTime;
+
+public interface ThreadHotStatsView {
+    Long getId();
+    LocalDateTime getCreatedAt();
+    int getScore();
+    int getMessageCount();
+}
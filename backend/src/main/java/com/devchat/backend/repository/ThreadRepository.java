@@ -1,15 +1,83 @@
 package com.devchat.backend.repository;
 
 import com.devchat.backend.entity.Thread;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ThreadRepository extends JpaRepository<Thread, Long> {
     List<Thread> findByTitleContainingIgnoreCase(String title);
 
-    @Query("SELECT t FROM Thread t WHERE LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(t.content) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    @EntityGraph(attributePaths = "author")
+    Optional<Thread> findWithAuthorById(Long id);
+
+    @Query("SELECT t FROM Thread t JOIN FETCH t.author")
+    List<Thread> findAllWithAuthor();
+
+    @Query("SELECT t FROM Thread t JOIN FETCH t.author WHERE t.id IN :ids")
+    List<Thread> findAllWithAuthorByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t.id FROM Thread t WHERE t.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    List<Thread> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("SELECT t FROM Thread t JOIN FETCH t.author WHERE LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(t.content) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Thread> searchByKeyword(@Param("keyword") String keyword);
-}
\ No newline at end of file
+
+    @Query("SELECT t FROM Thread t JOIN FETCH t.author ORDER BY t.createdAt DESC, t.id DESC")
+    List<Thread> findLatest(Pageable pageable);
+
+    @Query("SELECT t FROM Thread t JOIN FETCH t.author WHERE t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id) ORDER BY t.createdAt DESC, t.id DESC")
+    List<Thread> findOlderThan(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.createdAt AS createdAt, t.score AS score, t.messageCount AS messageCount FROM Thread t WHERE t.id IN :ids")
+    List<ThreadHotStatsView> findHotStatsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t.id AS id, t.createdAt AS createdAt, t.score AS score, t.messageCount AS messageCount FROM Thread t WHERE t.hotRank IS NOT NULL ORDER BY t.hotRank DESC, t.id DESC")
+    List<ThreadHotStatsView> findTopByHotRank(Pageable pageable);
+
+    @Query("SELECT t FROM Thread t JOIN FETCH t.author ORDER BY t.lastActivityAt DESC, t.id DESC")
+    List<Thread> findMostActive(Pageable pageable);
+
+    @Query("SELECT t FROM Thread t JOIN FETCH t.author WHERE t.lastActivityAt < :activityAt OR (t.lastActivityAt = :activityAt AND t.id < :id) ORDER BY t.lastActivityAt DESC, t.id DESC")
+    List<Thread> findActiveBefore(@Param("activityAt") LocalDateTime activityAt, @Param("id") Long id, Pageable pageable);
+
+    // MySQL applies SET assignments left to right, so the replier is decided before lastMessageAt moves
+    @Modifying
+    @Query("UPDATE Thread t SET t.messageCount = t.messageCount + :count, "
+            + "t.lastReplierUsername = CASE WHEN t.lastMessageAt IS NULL OR t.lastMessageAt <= :at THEN :replier ELSE t.lastReplierUsername END, "
+            + "t.lastMessageAt = CASE WHEN t.lastMessageAt IS NULL OR t.lastMessageAt <= :at THEN :at ELSE t.lastMessageAt END, "
+            + "t.lastActivityAt = CASE WHEN t.lastActivityAt IS NULL OR t.lastActivityAt < :at THEN :at ELSE t.lastActivityAt END "
+            + "WHERE t.id = :id")
+    int recordMessages(@Param("id") Long id, @Param("count") int count,
+                       @Param("at") LocalDateTime at, @Param("replier") String replier);
+
+    @Modifying
+    @Query("UPDATE Thread t SET t.messageCount = CASE WHEN t.messageCount > 0 THEN t.messageCount - 1 ELSE 0 END, "
+            + "t.score = t.score - :score WHERE t.id = :id")
+    int recordMessageRemoved(@Param("id") Long id, @Param("score") int score);
+
+    // Only applies while the removed message is still the recorded latest one
+    @Modifying
+    @Query("UPDATE Thread t SET t.lastMessageAt = :at, t.lastReplierUsername = :replier "
+            + "WHERE t.id = :id AND t.lastMessageAt = :removedAt")
+    int replaceLastMessage(@Param("id") Long id, @Param("removedAt") LocalDateTime removedAt,
+                           @Param("at") LocalDateTime at, @Param("replier") String replier);
+
+    @Modifying
+    @Query("UPDATE Thread t SET t.deletedAt = :deletedAt WHERE t.id = :id AND t.deletedAt IS NULL")
+    int markDeleted(@Param("id") Long id, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Query("UPDATE Thread t SET t.score = t.score + :delta WHERE t.id = :id")
+    int adjustScore(@Param("id") Long id, @Param("delta") int delta);
+}
@@ -2,13 +2,31 @@ package com.devchat.backend.repository;
 
 import com.devchat.backend.entity.User;
 import com.devchat.backend.enums.Role;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
-    List<User> findByVerifiedFalse();
-    List<User> findByRoleAndVerifiedFalse(Role role);
-}
\ No newline at end of file
+    boolean existsByUsername(String username);
+
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email, u.role AS role, u.verified AS verified "
+            + "FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserSummaryView> findSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email, u.role AS role, u.verified AS verified "
+            + "FROM User u WHERE u.verified = false AND u.id > :afterId ORDER BY u.id")
+    List<UserSummaryView> findPendingSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email, u.role AS role, u.verified AS verified "
+            + "FROM User u WHERE u.role = :role AND u.verified = false AND u.id > :afterId ORDER BY u.id")
+    List<UserSummaryView> findPendingSummariesByRoleAfter(@Param("role") Role role, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email, u.role AS role, u.verified AS verified "
+            + "FROM User u WHERE u.verified = true AND u.id > :afterId ORDER BY u.id")
+    List<UserSummaryView> findVerifiedSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
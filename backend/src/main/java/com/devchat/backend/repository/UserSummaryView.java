@@ -0,0 +1,14 @@
+package com.devchat.backend.repository;
+
+import com.devchat.backend.enums.Role;
+
+/**
+ * The columns a user listing shows; leaves the password hash in the database.
+ */
+public interface UserSummaryView {
+    Long getId();
+    String getUsername();
+    String getEmail();
+    Role getRole();
+    boolean isVerified();
+}
@@ -0,0 +1,7 @@
+package com.devchat.backend.repository;
+
+public interface VoteCountsView {
+    int getUpvotes();
+    int getDownvotes();
+    Long getThreadId();
+}
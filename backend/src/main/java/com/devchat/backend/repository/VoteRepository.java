@@ -2,11 +2,26 @@ package com.devchat.backend.repository;
 
 import com.devchat.backend.entity.Vote;
 import com.devchat.backend.enums.VoteType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface VoteRepository extends JpaRepository<Vote, Long> {
-    Optional<Vote> findByUserIdAndMessageId(Long userId, Long messageId);
-    int countByMessageIdAndVoteType(Long messageId, VoteType voteType);
+    // Derived queries join users and messages to reach their ids; this filters on the key columns.
+    // Locked: the vote a delta is computed from must not change before the transaction commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM Vote v WHERE v.user.id = :userId AND v.message.id = :messageId")
+    Optional<Vote> findForUpdate(@Param("userId") Long userId, @Param("messageId") Long messageId);
+
+    @Query("SELECT COUNT(v) FROM Vote v WHERE v.message.id = :messageId AND v.voteType = :voteType")
+    int countByMessageIdAndVoteType(@Param("messageId") Long messageId, @Param("voteType") VoteType voteType);
+
+    @Modifying
+    @Query("DELETE FROM Vote v WHERE v.message.id = :messageId")
+    int deleteByMessageId(@Param("messageId") Long messageId);
 }
\ No newline at end of file
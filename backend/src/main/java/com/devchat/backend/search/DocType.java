@@ -0,0 +1,6 @@
+package com.devchat.backend.search;
+
+public enum DocType {
+    THREAD,
+    MESSAGE
+}
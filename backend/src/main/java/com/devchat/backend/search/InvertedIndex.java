@@ -0,0 +1,122 @@
+package com.devchat.backend.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Term to document postings for threads and messages. Updates for one document are serialized
+ * through {@link ConcurrentHashMap#compute}; searches run without locking.
+ */
+class InvertedIndex {
+
+    private static final double BM25_K1 = 1.2;
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<DocKey, Float>> postings = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<DocKey, DocEntry> docs = new ConcurrentHashMap<>();
+
+    record DocKey(DocType type, Long id) {}
+
+    private record DocEntry(Long threadId, Set<String> terms) {}
+
+    void put(DocType type, Long id, Long threadId, Map<String, Float> termFrequencies) {
+        DocKey key = new DocKey(type, id);
+        docs.compute(key, (k, old) -> {
+            if (old != null) {
+                old.terms().forEach(term -> unlink(term, k));
+            }
+            termFrequencies.forEach((term, tf) -> postings.compute(term, (t, docsForTerm) -> {
+                ConcurrentHashMap<DocKey, Float> target = docsForTerm != null ? docsForTerm : new ConcurrentHashMap<>();
+                target.put(k, tf);
+                return target;
+            }));
+            return new DocEntry(threadId, Set.copyOf(termFrequencies.keySet()));
+        });
+    }
+
+    void remove(DocType type, Long id) {
+        docs.computeIfPresent(new DocKey(type, id), (k, old) -> {
+            old.terms().forEach(term -> unlink(term, k));
+            return null;
+        });
+    }
+
+    int size() {
+        return docs.size();
+    }
+
+    /**
+     * Returns documents containing every term, ranked by a BM25-style score, keeping only
+     * the top {@code offset + limit} candidates in memory.
+     */
+    SearchHits search(List<String> terms, DocType filter, int offset, int limit) {
+        List<Map<DocKey, Float>> lists = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Map<DocKey, Float> docsForTerm = postings.get(term);
+            if (docsForTerm == null || docsForTerm.isEmpty()) {
+                return new SearchHits(List.of(), 0);
+            }
+            lists.add(docsForTerm);
+        }
+        // Drive the intersection from the rarest term
+        lists.sort(Comparator.comparingInt(Map::size));
+
+        double totalDocs = Math.max(1, docs.size());
+        double[] idf = new double[lists.size()];
+        for (int i = 0; i < lists.size(); i++) {
+            idf[i] = Math.log(1 + totalDocs / lists.get(i).size());
+        }
+
+        int keep = offset + limit;
+        Comparator<SearchHit> byRank = Comparator.comparingDouble(SearchHit::score)
+                .thenComparing(SearchHit::id);
+        PriorityQueue<SearchHit> top = new PriorityQueue<>(Math.max(1, keep), byRank);
+        int matches = 0;
+
+        for (Map.Entry<DocKey, Float> candidate : lists.get(0).entrySet()) {
+            DocKey key = candidate.getKey();
+            if (filter != null && key.type() != filter) {
+                continue;
+            }
+            double score = weight(candidate.getValue()) * idf[0];
+            boolean all = true;
+            for (int i = 1; i < lists.size() && all; i++) {
+                Float tf = lists.get(i).get(key);
+                if (tf == null) {
+                    all = false;
+                } else {
+                    score += weight(tf) * idf[i];
+                }
+            }
+            DocEntry entry = docs.get(key);
+            if (!all || entry == null) {
+                continue;
+            }
+            matches++;
+            top.offer(new SearchHit(key.type(), key.id(), entry.threadId(), score));
+            if (top.size() > keep) {
+                top.poll();
+            }
+        }
+
+        List<SearchHit> ranked = new ArrayList<>(top);
+        ranked.sort(byRank.reversed());
+        List<SearchHit> page = offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size());
+        return new SearchHits(page, matches);
+    }
+
+    private void unlink(String term, DocKey key) {
+        postings.computeIfPresent(term, (t, docsForTerm) -> {
+            docsForTerm.remove(key);
+            return docsForTerm.isEmpty() ? null : docsForTerm;
+        });
+    }
+
+    private static double weight(float tf) {
+        return tf * (BM25_K1 + 1) / (tf + BM25_K1);
+    }
+}
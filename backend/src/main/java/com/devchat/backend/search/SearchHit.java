@@ -0,0 +1,3 @@
+package com.devchat.backend.search;
+
+public record SearchHit(DocType type, Long id, Long threadId, double score) {}
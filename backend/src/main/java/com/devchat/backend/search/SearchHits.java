@@ -0,0 +1,5 @@
+package com.devchat.backend.search;
+
+import java.util.List;
+
+public record SearchHits(List<SearchHit> hits, int totalMatches) {}
@@ -0,0 +1,137 @@
+package com.devchat.backend.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory full-text index over thread titles/content and message content.
+ * Writes are applied incrementally by the services; {@link #beginRebuild()} and
+ * {@link #finishRebuild()} swap in a freshly built index without blocking searches.
+ *
+ * <p>The rebuild fills the new index from rows read at some point during the rebuild, which can
+ * be older than an incremental write. Writes made meanwhile are therefore logged and replayed over
+ * the new index just before the swap, so the last write for a document always wins.
+ */
+@Component
+public class SearchIndex {
+
+    private static final float TITLE_BOOST = 3f;
+    private static final int MAX_QUERY_TERMS = 10;
+
+    // Writers and the swap take the lock; searches only read current
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile InvertedIndex current = new InvertedIndex();
+    private InvertedIndex building;
+    private final List<Consumer<InvertedIndex>> writesDuringRebuild = new ArrayList<>();
+
+    public void indexThread(Long id, String title, String content) {
+        Map<String, Float> tf = threadTerms(title, content);
+        apply(index -> index.put(DocType.THREAD, id, id, tf));
+    }
+
+    public void indexMessage(Long id, Long threadId, String content) {
+        Map<String, Float> tf = messageTerms(content);
+        apply(index -> index.put(DocType.MESSAGE, id, threadId, tf));
+    }
+
+    public void removeThread(Long id) {
+        apply(index -> index.remove(DocType.THREAD, id));
+    }
+
+    public void removeMessage(Long id) {
+        apply(index -> index.remove(DocType.MESSAGE, id));
+    }
+
+    public SearchHits search(String query, DocType filter, int offset, int limit) {
+        List<String> terms = List.copyOf(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        if (terms.isEmpty()) {
+            return new SearchHits(List.of(), 0);
+        }
+        if (terms.size() > MAX_QUERY_TERMS) {
+            terms = terms.subList(0, MAX_QUERY_TERMS);
+        }
+        return current.search(terms, filter, offset, limit);
+    }
+
+    public int size() {
+        return current.size();
+    }
+
+    /**
+     * Starts collecting a new index. Incremental writes keep going to the current index and are
+     * replayed over the new one by {@link #finishRebuild()}.
+     */
+    InvertedIndex beginRebuild() {
+        InvertedIndex fresh = new InvertedIndex();
+        lock.lock();
+        try {
+            building = fresh;
+            writesDuringRebuild.clear();
+        } finally {
+            lock.unlock();
+        }
+        return fresh;
+    }
+
+    void finishRebuild() {
+        lock.lock();
+        try {
+            if (building != null) {
+                writesDuringRebuild.forEach(update -> update.accept(building));
+                current = building;
+            }
+            building = null;
+            writesDuringRebuild.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void abortRebuild() {
+        lock.lock();
+        try {
+            building = null;
+            writesDuringRebuild.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(Consumer<InvertedIndex> update) {
+        lock.lock();
+        try {
+            update.accept(current);
+            if (building != null) {
+                writesDuringRebuild.add(update);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static Map<String, Float> threadTerms(String title, String content) {
+        Map<String, Float> tf = new HashMap<>();
+        addTerms(tf, title, TITLE_BOOST);
+        addTerms(tf, content, 1f);
+        return tf;
+    }
+
+    static Map<String, Float> messageTerms(String content) {
+        Map<String, Float> tf = new HashMap<>();
+        addTerms(tf, content, 1f);
+        return tf;
+    }
+
+    private static void addTerms(Map<String, Float> tf, String text, float weight) {
+        for (String term : Tokenizer.tokenize(text)) {
+            tf.merge(term, weight, Float::sum);
+        }
+    }
+}
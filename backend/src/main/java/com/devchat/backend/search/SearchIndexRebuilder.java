@@ -0,0 +1,106 @@
+package com.devchat.backend.search;
+
+import com.devchat.backend.entity.Message;
+import com.devchat.backend.entity.Thread;
+import com.devchat.backend.repository.MessageRepository;
+import com.devchat.backend.repository.ThreadRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rebuilds the {@link SearchIndex} from the database in id-ordered chunks, so memory use
+ * stays bounded regardless of table size.
+ */
+@Component
+public class SearchIndexRebuilder {
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexRebuilder.class);
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private ThreadRepository threadRepo;
+
+    @Autowired
+    private MessageRepository messageRepo;
+
+    @Value("${devchat.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @Value("${devchat.search.rebuild-chunk-size:1000}")
+    private int chunkSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    public Map<String, Object> rebuild() {
+        Map<String, Object> result = new HashMap<>();
+        if (!running.compareAndSet(false, true)) {
+            result.put("message", "Search index rebuild already in progress");
+            return result;
+        }
+
+        long started = System.currentTimeMillis();
+        InvertedIndex fresh = searchIndex.beginRebuild();
+        try {
+            long threads = 0;
+            List<Thread> threadChunk = threadRepo.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, chunkSize));
+            while (!threadChunk.isEmpty()) {
+                for (Thread thread : threadChunk) {
+                    fresh.put(DocType.THREAD, thread.getId(), thread.getId(),
+                            SearchIndex.threadTerms(thread.getTitle(), thread.getContent()));
+                }
+                threads += threadChunk.size();
+                Long lastId = threadChunk.get(threadChunk.size() - 1).getId();
+                threadChunk = threadRepo.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, chunkSize));
+            }
+
+            long messages = 0;
+            List<Message> messageChunk = messageRepo.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, chunkSize));
+            while (!messageChunk.isEmpty()) {
+                for (Message message : messageChunk) {
+                    fresh.put(DocType.MESSAGE, message.getId(), message.getThread().getId(),
+                            SearchIndex.messageTerms(message.getContent()));
+                }
+                messages += messageChunk.size();
+                Long lastId = messageChunk.get(messageChunk.size() - 1).getId();
+                messageChunk = messageRepo.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, chunkSize));
+            }
+
+            searchIndex.finishRebuild();
+            long elapsed = System.currentTimeMillis() - started;
+            logger.info("Search index rebuilt: {} threads, {} messages in {} ms", threads, messages, elapsed);
+
+            result.put("message", "Search index rebuilt");
+            result.put("threads", threads);
+            result.put("messages", messages);
+            result.put("elapsedMs", elapsed);
+            return result;
+        } catch (RuntimeException e) {
+            searchIndex.abortRebuild();
+            logger.error("Search index rebuild failed", e);
+            throw e;
+        } finally {
+            running.set(false);
+        }
+    }
+}
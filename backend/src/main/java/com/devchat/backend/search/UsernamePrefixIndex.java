@@ -0,0 +1,101 @@
+package com.devchat.backend.search;
+
+import com.devchat.backend.repository.UserRepository;
+import com.devchat.backend.repository.UserSummaryView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+
+/**
+ * Verified usernames in a sorted array for {@code @mention} completion. A prefix lookup is a
+ * binary search plus a scan of the matches, with no database access.
+ *
+ * <p>Readers take the current snapshot without locking; writers copy it with the new name
+ * inserted. Users are only ever added (on verified registration or on verification), so the
+ * startup load merges with anything added while it ran.
+ */
+@Component
+public class UsernamePrefixIndex {
+    private static final Logger logger = LoggerFactory.getLogger(UsernamePrefixIndex.class);
+
+    // keys are lower-cased for case-insensitive matching, with the original spelling appended so
+    // names differing only in case stay distinct; names holds the original spelling
+    private record Snapshot(String[] keys, String[] names) {}
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${devchat.users.autocomplete.load-chunk-size:5000}")
+    private int chunkSize;
+
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new String[0]);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.currentTimeMillis();
+        TreeMap<String, String> loaded = new TreeMap<>();
+        List<UserSummaryView> chunk = userRepository.findVerifiedSummariesAfter(0L, PageRequest.of(0, chunkSize));
+        while (!chunk.isEmpty()) {
+            chunk.forEach(user -> loaded.put(entryKey(user.getUsername()), user.getUsername()));
+            chunk = userRepository.findVerifiedSummariesAfter(chunk.get(chunk.size() - 1).getId(), PageRequest.of(0, chunkSize));
+        }
+        synchronized (this) {
+            Snapshot current = snapshot;
+            for (int i = 0; i < current.keys().length; i++) {
+                loaded.put(current.keys()[i], current.names()[i]);
+            }
+            snapshot = new Snapshot(loaded.keySet().toArray(String[]::new), loaded.values().toArray(String[]::new));
+        }
+        logger.info("Username index loaded {} users in {} ms", loaded.size(), System.currentTimeMillis() - started);
+    }
+
+    public synchronized void add(String username) {
+        Snapshot current = snapshot;
+        String key = entryKey(username);
+        int pos = Arrays.binarySearch(current.keys(), key);
+        if (pos >= 0) {
+            return;
+        }
+        int insertAt = -pos - 1;
+        snapshot = new Snapshot(insert(current.keys(), insertAt, key), insert(current.names(), insertAt, username));
+    }
+
+    public List<String> complete(String prefix, int limit) {
+        Snapshot current = snapshot;
+        String key = prefix.toLowerCase(Locale.ROOT);
+        int pos = Arrays.binarySearch(current.keys(), key);
+        int from = pos >= 0 ? pos : -pos - 1;
+        List<String> matches = new ArrayList<>(Math.min(limit, 16));
+        for (int i = from; i < current.keys().length && matches.size() < limit && current.keys()[i].startsWith(key); i++) {
+            matches.add(current.names()[i]);
+        }
+        return matches;
+    }
+
+    public int size() {
+        return snapshot.keys().length;
+    }
+
+    private static String entryKey(String username) {
+        return username.toLowerCase(Locale.ROOT) + '\0' + username;
+    }
+
+    private static String[] insert(String[] array, int at, String value) {
+        String[] copy = new String[array.length + 1];
+        System.arraycopy(array, 0, copy, 0, at);
+        copy[at] = value;
+        System.arraycopy(array, at, copy, at + 1, array.length - at);
+        return copy;
+    }
+}
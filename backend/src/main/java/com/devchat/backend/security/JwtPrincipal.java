@@ -0,0 +1,16 @@
+package com.devchat.backend.security;
+
+import com.devchat.backend.enums.Role;
+
+import java.security.Principal;
+
+/**
+ * Identity of an authenticated request, taken from signed JWT claims rather than the database.
+ */
+public record JwtPrincipal(Long userId, String username, Role role, boolean verified) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
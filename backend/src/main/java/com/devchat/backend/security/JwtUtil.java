@@ -1,5 +1,7 @@
 package com.devchat.backend.security;
 
+import com.devchat.backend.entity.User;
+import com.devchat.backend.enums.Role;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
@@ -13,9 +15,21 @@ public class JwtUtil {
     private final SecretKey SECRET_KEY = Keys.hmacShaKeyFor("mySecretKeyForJWTTokenGenerationAndValidation123456789".getBytes());
     private final long EXPIRATION_TIME = 86400000; // 1 day
 
-    public String generateToken(String username) {
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_VERIFIED = "verified";
+
+    // Parsers are immutable and thread-safe, so one instance serves every request
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(SECRET_KEY)
+            .build();
+
+    public String generateToken(User user) {
         return Jwts.builder()
-                .setSubject(username)
+                .setSubject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLE, user.getRole().name())
+                .claim(CLAIM_VERIFIED, user.isVerified())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
                 .signWith(SECRET_KEY)
@@ -23,23 +37,38 @@ public class JwtUtil {
     }
 
     public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
+        return parser.parseClaimsJws(token)
                 .getBody()
                 .getSubject();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(SECRET_KEY)
-                    .build()
-                    .parseClaimsJws(token);
+            parser.parseClaimsJws(token);
             return true;
         } catch (JwtException e) {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies the token once and reads the identity carried in its claims.
+     * Returns null when the token is invalid, expired or was issued without identity claims.
+     */
+    public JwtPrincipal parsePrincipal(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            Number userId = claims.get(CLAIM_USER_ID, Number.class);
+            String role = claims.get(CLAIM_ROLE, String.class);
+            if (claims.getSubject() == null || userId == null || role == null) {
+                return null;
+            }
+
+            Boolean verified = claims.get(CLAIM_VERIFIED, Boolean.class);
+            return new JwtPrincipal(userId.longValue(), claims.getSubject(), Role.valueOf(role), Boolean.TRUE.equals(verified));
+        } catch (JwtException | IllegalArgumentException e) {
+            // Also covers claims of the wrong type and roles that no longer exist
+            return null;
+        }
+    }
+}
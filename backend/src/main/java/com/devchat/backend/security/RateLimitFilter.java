@@ -0,0 +1,167 @@
+package com.devchat.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user token buckets, one per route class, checked right after the JWT is resolved.
+ * Anonymous requests (login, registration) are keyed by client address instead: the address
+ * the servlet container reports, which is the forwarded client address only when
+ * {@code server.forward-headers-strategy} is set and the request came from a trusted proxy.
+ * IPv6 clients are keyed by their /64, since one host usually owns a whole /64.
+ *
+ * <p>Each bucket is a single {@link AtomicLong} holding the time at which it will next be
+ * full (GCRA), so a take is one CAS with no lock. Buckets live in a size-bounded map and
+ * expire once idle long enough to have refilled, when dropping them changes nothing. A client
+ * that cycles through more than {@code maxBuckets} keys within that time evicts buckets that were
+ * still draining, so {@code devchat.rate-limit.max-buckets} must exceed the keys active in one
+ * refill period.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public enum RouteClass { AUTH, VOTE, MESSAGE, WRITE, READ }
+
+    /**
+     * {@code burst} requests may arrive at once, refilling at {@code perSecond}.
+     */
+    public record Limit(int burst, double perSecond) {
+
+        boolean enabled() {
+            return burst > 0 && perSecond > 0;
+        }
+
+        long intervalNanos() {
+            return (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+        }
+    }
+
+    private record BucketKey(String subject, RouteClass routeClass) {}
+
+    private final Map<RouteClass, Limit> limits;
+    private final Cache<BucketKey, AtomicLong> buckets;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(Map<RouteClass, Limit> limits, long maxBuckets, MeterRegistry meterRegistry) {
+        this.limits = new EnumMap<>(limits);
+        this.meterRegistry = meterRegistry;
+        long refillNanos = limits.values().stream()
+                .filter(Limit::enabled)
+                .mapToLong(limit -> limit.intervalNanos() * limit.burst())
+                .max().orElse(0);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(Duration.ofNanos(Math.max(refillNanos, TimeUnit.SECONDS.toNanos(1))))
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RouteClass routeClass = classify(request);
+        Limit limit = limits.get(routeClass);
+        if (limit == null || !limit.enabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.get(new BucketKey(subject(request), routeClass), key -> new AtomicLong(now));
+        long waitNanos = take(bucket, limit, now);
+        if (waitNanos > 0) {
+            meterRegistry.counter("devchat.ratelimit.rejected", "route", routeClass.name().toLowerCase()).increment();
+            long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Too many requests, retry in " + retryAfterSeconds + "s");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // Returns 0 when a token was taken, otherwise how long until one is available
+    static long take(AtomicLong fullAt, Limit limit, long now) {
+        long interval = limit.intervalNanos();
+        long tolerance = interval * limit.burst();
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            long excess = next - now - tolerance;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private static RouteClass classify(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.startsWith("/api/auth/")) {
+            return RouteClass.AUTH;
+        }
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)) {
+            return RouteClass.READ;
+        }
+        if (uri.startsWith("/api/votes")) {
+            return RouteClass.VOTE;
+        }
+        if (uri.startsWith("/api/messages")) {
+            return RouteClass.MESSAGE;
+        }
+        return RouteClass.WRITE;
+    }
+
+    private static String subject(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return "u" + principal.userId();
+        }
+        return clientKey(request.getRemoteAddr());
+    }
+
+    static String clientKey(String address) {
+        if (address == null || address.indexOf(':') < 0) {
+            return address;
+        }
+        try {
+            // A literal address is parsed without a lookup
+            byte[] bytes = InetAddress.getByName(address).getAddress();
+            if (bytes.length == 16) {
+                return "v6:" + HexFormat.of().formatHex(bytes, 0, 8);
+            }
+        } catch (UnknownHostException e) {
+            // Not an address; use it as is
+        }
+        return address;
+    }
+}
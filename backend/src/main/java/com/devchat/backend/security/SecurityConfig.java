@@ -1,18 +1,29 @@
 package com.devchat.backend.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerApplicationContext;
 import org.springframework.context.annotation.*;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.*;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.*;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.web.context.support.WebApplicationContextUtils;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
 @Configuration
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
@@ -23,27 +34,71 @@ public class SecurityConfig {
     @Autowired
     private CorsConfigurationSource corsConfigurationSource;
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    // BCrypt runs on its own bounded pool so login/register spikes can't tie up request threads
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(@Value("${devchat.auth.hash-threads:0}") int threads,
+                                                 @Value("${devchat.auth.hash-queue-capacity:64}") int queueCapacity,
+                                                 @Value("${devchat.auth.hash-max-wait-ms:2000}") long maxWaitMs,
+                                                 @Value("${devchat.auth.retry-after-seconds:2}") long retryAfterSeconds,
+                                                 MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(),
+                poolSize, queueCapacity, maxWaitMs, retryAfterSeconds);
+        new ExecutorServiceMetrics(encoder.getExecutor(), "password-hash", List.of()).bindTo(meterRegistry);
+        return encoder;
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, Environment env, MeterRegistry meterRegistry) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource))
                 .authorizeHttpRequests(authz -> authz
+                        // Async dispatches (event streams completing) were authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        // Scrapes are open only on the internal management.server.port, admins only on the API port
+                        .requestMatchers(request -> onManagementServer(request)
+                                && request.getRequestURI().equals("/actuator/prometheus")).permitAll()
+                        .requestMatchers("/actuator/**").hasAnyRole("ADMIN", "SUPERADMIN")
                         .requestMatchers("/api/admin/**").hasAnyRole("ADMIN", "SUPERADMIN")
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
 
         http.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+        if (env.getProperty("devchat.rate-limit.enabled", Boolean.class, true)) {
+            // Not a bean, so it only runs inside the security chain where the principal is known
+            http.addFilterAfter(new RateLimitFilter(rateLimits(env),
+                    env.getProperty("devchat.rate-limit.max-buckets", Long.class, 100_000L), meterRegistry), JwtFilter.class);
+        }
         return http.build();
     }
 
+    private static boolean onManagementServer(HttpServletRequest request) {
+        return WebServerApplicationContext.hasServerNamespace(
+                WebApplicationContextUtils.getWebApplicationContext(request.getServletContext()), "management");
+    }
+
+    // devchat.rate-limit.<route class>.burst / .per-second; a burst of 0 turns that class off
+    private Map<RateLimitFilter.RouteClass, RateLimitFilter.Limit> rateLimits(Environment env) {
+        Map<RateLimitFilter.RouteClass, RateLimitFilter.Limit> defaults = Map.of(
+                RateLimitFilter.RouteClass.AUTH, new RateLimitFilter.Limit(10, 1),
+                RateLimitFilter.RouteClass.VOTE, new RateLimitFilter.Limit(30, 5),
+                RateLimitFilter.RouteClass.MESSAGE, new RateLimitFilter.Limit(20, 2),
+                RateLimitFilter.RouteClass.WRITE, new RateLimitFilter.Limit(20, 2),
+                RateLimitFilter.RouteClass.READ, new RateLimitFilter.Limit(120, 20));
+        Map<RateLimitFilter.RouteClass, RateLimitFilter.Limit> limits = new EnumMap<>(RateLimitFilter.RouteClass.class);
+        defaults.forEach((routeClass, fallback) -> {
+            String prefix = "devchat.rate-limit." + routeClass.name().toLowerCase() + ".";
+            limits.put(routeClass, new RateLimitFilter.Limit(
+                    env.getProperty(prefix + "burst", Integer.class, fallback.burst()),
+                    env.getProperty(prefix + "per-second", Double.class, fallback.perSecond())));
+        });
+        return limits;
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         return config.getAuthenticationManager();
@@ -1,10 +1,17 @@
 package com.devchat.backend.service;
 
+import com.devchat.backend.dto.PageResponseDto;
+import com.devchat.backend.dto.ThreadPurgeStatusDto;
 import com.devchat.backend.dto.UserResponseDto;
 import java.util.List;
+import java.util.Map;
 
 public interface AdminService {
     List<UserResponseDto> getPendingUsers();
+    PageResponseDto<UserResponseDto> getPendingUserPage(String cursor, Integer limit);
     String verifyUser(Long userId);
     List<UserResponseDto> getAllUsersForAdmin();
+    PageResponseDto<UserResponseDto> getUserPageForAdmin(String cursor, Integer limit);
+    Map<String, Object> repairThreadStats();
+    List<ThreadPurgeStatusDto> getThreadPurges();
 }
\ No newline at end of file
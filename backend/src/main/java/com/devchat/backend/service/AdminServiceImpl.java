@@ -1,43 +1,74 @@
 package com.devchat.backend.service;
 
+import com.devchat.backend.cluster.DomainEvent;
+import com.devchat.backend.cluster.DomainEventBus;
+import com.devchat.backend.dto.PageResponseDto;
+import com.devchat.backend.dto.ThreadPurgeStatusDto;
 import com.devchat.backend.dto.UserResponseDto;
 import com.devchat.backend.entity.User;
 import com.devchat.backend.enums.Role;
 import com.devchat.backend.repository.UserRepository;
+import com.devchat.backend.repository.UserSummaryView;
+import com.devchat.backend.search.UsernamePrefixIndex;
+import com.devchat.backend.util.CursorCodec;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 public class AdminServiceImpl implements AdminService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UsernamePrefixIndex usernameIndex;
+
+    @Autowired
+    private DomainEventBus clusterEvents;
+
+    @Autowired
+    private ThreadStatsRepairJob threadStatsRepairJob;
+
+    @Autowired
+    private ThreadPurger threadPurger;
+
     @Override
     public List<UserResponseDto> getPendingUsers() {
+        return findPending(0L, Pageable.unpaged()).stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public PageResponseDto<UserResponseDto> getPendingUserPage(String cursor, Integer limit) {
+        int size = pageSize(limit);
+        return toPage(findPending(afterId(cursor), PageRequest.of(0, size + 1)), size);
+    }
+
+    private List<UserSummaryView> findPending(Long afterId, Pageable pageable) {
         String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
         User currentUser = userRepository.findByUsername(currentUsername)
                 .orElseThrow(() -> new RuntimeException("Current user not found"));
 
-        List<User> pendingUsers;
-
         if (currentUser.getRole() == Role.SUPERADMIN) {
             // Superadmin can see all pending users
-            pendingUsers = userRepository.findByVerifiedFalse();
+            return userRepository.findPendingSummariesAfter(afterId, pageable);
         } else if (currentUser.getRole() == Role.ADMIN) {
             // Admin can only see pending DEV users
-            pendingUsers = userRepository.findByRoleAndVerifiedFalse(Role.DEV);
+            return userRepository.findPendingSummariesByRoleAfter(Role.DEV, afterId, pageable);
         } else {
             throw new RuntimeException("Access denied");
         }
-
-        return pendingUsers.stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
     }
 
     @Override
@@ -60,18 +91,45 @@ public class AdminServiceImpl implements AdminService {
 
         userToVerify.setVerified(true);
         userRepository.save(userToVerify);
+        usernameIndex.add(userToVerify.getUsername());
+        clusterEvents.publish(DomainEvent.userVerified(userToVerify.getId(), userToVerify.getUsername()));
 
         return "User verified successfully";
     }
 
     @Override
     public List<UserResponseDto> getAllUsersForAdmin() {
-        return userRepository.findAll().stream()
+        return userRepository.findSummariesAfter(0L, Pageable.unpaged()).stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public PageResponseDto<UserResponseDto> getUserPageForAdmin(String cursor, Integer limit) {
+        int size = pageSize(limit);
+        return toPage(userRepository.findSummariesAfter(afterId(cursor), PageRequest.of(0, size + 1)), size);
+    }
+
+    private static int pageSize(Integer limit) {
+        return limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private static long afterId(String cursor) {
+        return cursor == null || cursor.isBlank() ? 0L : CursorCodec.decodeId(cursor);
+    }
+
+    // rows holds one more than the page size when another page exists
+    private PageResponseDto<UserResponseDto> toPage(List<UserSummaryView> rows, int size) {
+        boolean hasMore = rows.size() > size;
+        List<UserSummaryView> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? CursorCodec.encode(page.get(page.size() - 1).getId()) : null;
+        List<UserResponseDto> items = page.stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
+        return new PageResponseDto<>(items, nextCursor, hasMore);
     }
 
-    private UserResponseDto mapToDto(User user) {
+    private UserResponseDto mapToDto(UserSummaryView user) {
         UserResponseDto dto = new UserResponseDto();
         dto.setId(user.getId());
         dto.setUsername(user.getUsername());
@@ -80,4 +138,14 @@ public class AdminServiceImpl implements AdminService {
         dto.setVerified(user.isVerified());
         return dto;
     }
-}
\ No newline at end of file
+
+    @Override
+    public Map<String, Object> repairThreadStats() {
+        return threadStatsRepairJob.repair();
+    }
+
+    @Override
+    public List<ThreadPurgeStatusDto> getThreadPurges() {
+        return threadPurger.getStatus();
+    }
+}
@@ -1,14 +1,16 @@
 package com.devchat.backend.service;
 
+import com.devchat.backend.cluster.DomainEvent;
+import com.devchat.backend.cluster.DomainEventBus;
 import com.devchat.backend.dto.UserRequestDto;
 import com.devchat.backend.entity.User;
 import com.devchat.backend.enums.Role;
 import com.devchat.backend.repository.UserRepository;
+import com.devchat.backend.search.UsernamePrefixIndex;
 import com.devchat.backend.security.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
@@ -21,12 +23,19 @@ public class AuthServiceImpl implements AuthService {
     private UserRepository userRepository;
 
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private JwtUtil jwtUtil;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UsernamePrefixIndex usernameIndex;
+
+    @Autowired
+    private DomainEventBus clusterEvents;
 
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    // Hash checked against when the username is unknown, so misses cost the same as wrong passwords
+    private volatile String missingUserHash;
 
     @Override
     public Map<String, Object> register(UserRequestDto userDto) {
@@ -40,9 +49,13 @@ public class AuthServiceImpl implements AuthService {
         user.setVerified(user.getRole() == Role.USER);
 
         userRepository.save(user);
+        if (user.isVerified()) {
+            usernameIndex.add(user.getUsername());
+            clusterEvents.publish(DomainEvent.userVerified(user.getId(), user.getUsername()));
+        }
 
         // Auto-login after registration
-        String token = jwtUtil.generateToken(user.getUsername());
+        String token = jwtUtil.generateToken(user);
 
         Map<String, Object> response = new HashMap<>();
         response.put("message", "User registered successfully");
@@ -55,14 +68,19 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public Map<String, Object> login(String username, String password) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(username, password)
-        );
-
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        String token = jwtUtil.generateToken(username);
+        if (password == null) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        User user = userRepository.findByUsername(username).orElse(null);
+        if (user == null) {
+            passwordEncoder.matches(password, missingUserHash());
+            throw new BadCredentialsException("Bad credentials");
+        }
+        if (!passwordEncoder.matches(password, user.getPassword())) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+
+        String token = jwtUtil.generateToken(user);
 
         Map<String, Object> response = new HashMap<>();
         response.put("token", token);
@@ -71,4 +89,13 @@ public class AuthServiceImpl implements AuthService {
 
         return response;
     }
-}
\ No newline at end of file
+
+    private String missingUserHash() {
+        String hash = missingUserHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode("missing-user-password");
+            missingUserHash = hash;
+        }
+        return hash;
+    }
+}
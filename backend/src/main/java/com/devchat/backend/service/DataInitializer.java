@@ -27,7 +27,7 @@ public class DataInitializer implements CommandLineRunner {
     @Override
     public void run(String... args) throws Exception {
         // Create superadmin if doesn't exist
-        if (userRepository.findByUsername("superadmin").isEmpty()) {
+        if (!userRepository.existsByUsername("superadmin")) {
             User superadmin = new User();
             superadmin.setUsername("superadmin");
             superadmin.setEmail(superadminEmail);
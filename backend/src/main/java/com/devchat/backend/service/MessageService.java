@@ -1,13 +1,21 @@
 package com.devchat.backend.service;
 
+import com.devchat.backend.dto.BulkImportResponseDto;
+import com.devchat.backend.dto.MessageImportDto;
 import com.devchat.backend.dto.MessageRequestDto;
 import com.devchat.backend.dto.MessageResponseDto;
+import com.devchat.backend.dto.PageResponseDto;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
 public interface MessageService {
     MessageResponseDto postMessage(MessageRequestDto dto);
+    BulkImportResponseDto importMessages(List<MessageImportDto> messages);
     List<MessageResponseDto> getMessagesByThread(Long threadId);
+    PageResponseDto<MessageResponseDto> getMessagePage(Long threadId, String before, String after, Integer limit);
     MessageResponseDto updateMessage(Long messageId, MessageRequestDto dto);
     String deleteMessage(Long messageId);
+    SseEmitter subscribeToThread(Long threadId);
 }
\ No newline at end of file
@@ -1,26 +1,61 @@
 package com.devchat.backend.service;
 
+import com.devchat.backend.cluster.DomainEvent;
+import com.devchat.backend.cluster.DomainEventBus;
+import com.devchat.backend.dto.BulkImportResponseDto;
+import com.devchat.backend.dto.MessageImportDto;
 import com.devchat.backend.dto.MessageRequestDto;
 import com.devchat.backend.dto.MessageResponseDto;
+import com.devchat.backend.dto.PageResponseDto;
+import com.devchat.backend.dto.ThreadEventDto;
 import com.devchat.backend.entity.Message;
 import com.devchat.backend.entity.Thread;
 import com.devchat.backend.entity.User;
 import com.devchat.backend.enums.Role;
+import com.devchat.backend.exception.InvalidCursorException;
+import com.devchat.backend.exception.InvalidImportException;
+import com.devchat.backend.exception.ThreadNotFoundException;
+import com.devchat.backend.realtime.ContentVersions;
+import com.devchat.backend.realtime.ThreadEventBroadcaster;
+import com.devchat.backend.replica.ReadConsistency;
 import com.devchat.backend.repository.MessageRepository;
 import com.devchat.backend.repository.ThreadRepository;
 import com.devchat.backend.repository.UserRepository;
+import com.devchat.backend.repository.VoteRepository;
+import com.devchat.backend.search.SearchIndex;
+import com.devchat.backend.util.CursorCodec;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class MessageServiceImpl implements MessageService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    // Rows per flush/clear during bulk import; a multiple of the JDBC batch size
+    private static final int IMPORT_FLUSH_SIZE = 500;
+
     @Autowired
     private MessageRepository messageRepo;
 
@@ -30,7 +65,41 @@ public class MessageServiceImpl implements MessageService {
     @Autowired
     private ThreadRepository threadRepo;
 
+    @Autowired
+    private VoteRepository voteRepo;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private VoteCounterBuffer voteCounterBuffer;
+
+    @Autowired
+    private ThreadEventBroadcaster broadcaster;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ThreadStatsUpdater threadStatsUpdater;
+
+    @Autowired
+    private ContentVersions contentVersions;
+
+    @Autowired
+    private DomainEventBus clusterEvents;
+
+    @Autowired
+    private ReadConsistency readConsistency;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${devchat.messages.import.max-size:5000}")
+    private int maxImportSize;
+
     @Override
+    @Transactional
     public MessageResponseDto postMessage(MessageRequestDto dto) {
         String loggedInUsername = SecurityContextHolder.getContext().getAuthentication().getName();
 
@@ -50,14 +119,95 @@ public class MessageServiceImpl implements MessageService {
         msg.setContent(dto.getContent());
         msg.setTimestamp(LocalDateTime.now());
 
-        return mapToDto(messageRepo.save(msg));
+        Message saved = messageRepo.save(msg);
+        threadStatsUpdater.messagesAdded(thread.getId(), 1, saved.getTimestamp(), sender.getUsername());
+
+        MessageResponseDto response = mapToDto(saved);
+        afterCommit(() -> {
+            searchIndex.indexMessage(saved.getId(), thread.getId(), saved.getContent());
+            clusterEvents.publish(DomainEvent.messageSaved(saved.getId(), thread.getId()));
+            meterRegistry.counter("devchat.messages.posted").increment();
+            publish("message.created", response);
+        });
+        return response;
+    }
+
+    @Override
+    @Transactional
+    public BulkImportResponseDto importMessages(List<MessageImportDto> messages) {
+        if (messages == null || messages.isEmpty()) {
+            throw new InvalidImportException("No messages to import");
+        }
+        if (messages.size() > maxImportSize) {
+            throw new InvalidImportException("At most " + maxImportSize + " messages can be imported per request");
+        }
+
+        String loggedInUsername = SecurityContextHolder.getContext().getAuthentication().getName();
+        User sender = userRepo.findByUsername(loggedInUsername)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (sender.getRole() != Role.DEV) {
+            throw new RuntimeException("Only DEV users can reply to threads");
+        }
+
+        // One query checks every thread in the batch; rows then reference them through proxies
+        Set<Long> threadIds = new HashSet<>();
+        for (MessageImportDto item : messages) {
+            if (item.getThreadId() == null) {
+                throw new InvalidImportException("Every message needs a threadId");
+            }
+            threadIds.add(item.getThreadId());
+        }
+        Set<Long> missing = new HashSet<>(threadIds);
+        missing.removeAll(threadRepo.findExistingIds(threadIds));
+        if (!missing.isEmpty()) {
+            throw new ThreadNotFoundException("Thread not found: " + missing);
+        }
+
+        Long senderId = sender.getId();
+        LocalDateTime now = LocalDateTime.now();
+        List<Message> saved = new ArrayList<>(messages.size());
+        Map<Long, Integer> countByThread = new HashMap<>();
+        Map<Long, LocalDateTime> latestByThread = new HashMap<>();
+        for (MessageImportDto item : messages) {
+            Message msg = new Message();
+            msg.setSender(entityManager.getReference(User.class, senderId));
+            msg.setThread(entityManager.getReference(Thread.class, item.getThreadId()));
+            msg.setContent(item.getContent());
+            msg.setTimestamp(item.getTimestamp() != null ? item.getTimestamp() : now);
+            entityManager.persist(msg);
+            saved.add(msg);
+            countByThread.merge(item.getThreadId(), 1, Integer::sum);
+            latestByThread.merge(item.getThreadId(), msg.getTimestamp(), (a, b) -> a.isAfter(b) ? a : b);
+
+            if (saved.size() % IMPORT_FLUSH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // One stats update per thread rather than per row
+        countByThread.forEach((threadId, count) ->
+                threadStatsUpdater.messagesAdded(threadId, count, latestByThread.get(threadId), sender.getUsername()));
+
+        afterCommit(() -> {
+            for (Message msg : saved) {
+                searchIndex.indexMessage(msg.getId(), msg.getThread().getId(), msg.getContent());
+                clusterEvents.publish(DomainEvent.messageSaved(msg.getId(), msg.getThread().getId()));
+            }
+            meterRegistry.counter("devchat.messages.posted").increment(saved.size());
+        });
+
+        List<Long> ids = saved.stream().map(Message::getId).collect(Collectors.toList());
+        return new BulkImportResponseDto(ids.size(), ids);
     }
 
     @Override
     public MessageResponseDto updateMessage(Long messageId, MessageRequestDto dto) {
         String loggedInUsername = SecurityContextHolder.getContext().getAuthentication().getName();
 
-        Message message = messageRepo.findById(messageId)
+        Message message = messageRepo.findWithSenderById(messageId)
                 .orElseThrow(() -> new RuntimeException("Message not found"));
 
         // Check if the current user is the sender of the message
@@ -67,14 +217,22 @@ public class MessageServiceImpl implements MessageService {
 
         message.setContent(dto.getContent());
 
-        return mapToDto(messageRepo.save(message));
+        Message saved = messageRepo.save(message);
+        searchIndex.indexMessage(saved.getId(), saved.getThread().getId(), saved.getContent());
+        contentVersions.threadChanged(saved.getThread().getId());
+        clusterEvents.publish(DomainEvent.messageSaved(saved.getId(), saved.getThread().getId()));
+
+        MessageResponseDto response = mapToDto(saved);
+        publish("message.updated", response);
+        return response;
     }
 
     @Override
+    @Transactional
     public String deleteMessage(Long messageId) {
         String loggedInUsername = SecurityContextHolder.getContext().getAuthentication().getName();
 
-        Message message = messageRepo.findById(messageId)
+        Message message = messageRepo.findWithSenderById(messageId)
                 .orElseThrow(() -> new RuntimeException("Message not found"));
 
         // Check if the current user is the sender of the message
@@ -82,15 +240,107 @@ public class MessageServiceImpl implements MessageService {
             throw new RuntimeException("Access denied: You can only delete your own messages");
         }
 
+        voteRepo.deleteByMessageId(messageId);
         messageRepo.delete(message);
+        threadStatsUpdater.messageRemoved(message);
+
+        ThreadEventDto event = new ThreadEventDto();
+        event.setType("message.deleted");
+        event.setThreadId(message.getThread().getId());
+        event.setMessageId(messageId);
+        afterCommit(() -> {
+            contentVersions.votesChanged(messageId);
+            searchIndex.removeMessage(messageId);
+            clusterEvents.publish(DomainEvent.messageDeleted(messageId));
+            broadcaster.publish(event);
+            clusterEvents.push(event);
+        });
         return "Message deleted successfully";
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<MessageResponseDto> getMessagesByThread(Long threadId) {
-        return messageRepo.findByThreadId(threadId).stream()
+        readConsistency.requireChangesSince(contentVersions.threadChangedAt(threadId));
+        requireLiveThread(threadId);
+        return messageRepo.findByThreadIdOrderByTimestampAscIdAsc(threadId).stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponseDto<MessageResponseDto> getMessagePage(Long threadId, String before, String after, Integer limit) {
+        if (before != null && after != null) {
+            throw new InvalidCursorException("Only one of 'before' or 'after' may be given");
+        }
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        readConsistency.requireChangesSince(contentVersions.threadChangedAt(threadId));
+        requireLiveThread(threadId);
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        PageRequest pageRequest = PageRequest.of(0, size + 1);
+        boolean backwards = before != null;
+        List<Message> rows;
+        if (backwards) {
+            CursorCodec.Position position = CursorCodec.decode(before);
+            rows = messageRepo.findInThreadBefore(threadId, position.timestamp(), position.id(), pageRequest);
+        } else if (after != null) {
+            CursorCodec.Position position = CursorCodec.decode(after);
+            rows = messageRepo.findInThreadAfter(threadId, position.timestamp(), position.id(), pageRequest);
+        } else {
+            rows = messageRepo.findFirstInThread(threadId, pageRequest);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<Message> page = new ArrayList<>(hasMore ? rows.subList(0, size) : rows);
+
+        // The cursor continues in the direction of the request: the oldest row when paging backwards
+        String nextCursor = null;
+        if (hasMore) {
+            Message edge = page.get(page.size() - 1);
+            nextCursor = CursorCodec.encode(edge.getTimestamp(), edge.getId());
+        }
+        if (backwards) {
+            Collections.reverse(page);
+        }
+
+        List<MessageResponseDto> items = page.stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
+        return new PageResponseDto<>(items, nextCursor, hasMore);
+    }
+
+    @Override
+    public SseEmitter subscribeToThread(Long threadId) {
+        requireLiveThread(threadId);
+        return broadcaster.subscribe(threadId);
+    }
+
+    // Deleted threads are tombstoned until purged; their replies must not be readable meanwhile
+    private void requireLiveThread(Long threadId) {
+        if (!threadRepo.existsById(threadId)) {
+            throw new ThreadNotFoundException("Thread not found");
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void publish(String type, MessageResponseDto message) {
+        ThreadEventDto event = new ThreadEventDto();
+        event.setType(type);
+        event.setThreadId(message.getThreadId());
+        event.setMessageId(message.getId());
+        event.setMessage(message);
+        broadcaster.publish(event);
+        clusterEvents.push(event);
     }
 
     private MessageResponseDto mapToDto(Message msg) {
@@ -100,8 +350,9 @@ public class MessageServiceImpl implements MessageService {
         dto.setSenderUsername(msg.getSender().getUsername());
         dto.setThreadId(msg.getThread().getId());
         dto.setTimestamp(msg.getTimestamp());
-        dto.setUpvotes(msg.getUpvotes());
-        dto.setDownvotes(msg.getDownvotes());
+        int[] buffered = voteCounterBuffer.pendingFor(msg.getId());
+        dto.setUpvotes(msg.getUpvotes() + buffered[0]);
+        dto.setDownvotes(msg.getDownvotes() + buffered[1]);
         return dto;
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.devchat.backend.service;
+
+import com.devchat.backend.dto.PageResponseDto;
+import com.devchat.backend.dto.SearchResultDto;
+
+import java.util.Map;
+
+public interface SearchService {
+    PageResponseDto<SearchResultDto> search(String query, String cursor, Integer limit);
+    Map<String, Object> rebuildIndex();
+}
@@ -0,0 +1,130 @@
+package com.devchat.backend.service;
+
+import com.devchat.backend.dto.PageResponseDto;
+import com.devchat.backend.dto.SearchResultDto;
+import com.devchat.backend.entity.Message;
+import com.devchat.backend.entity.Thread;
+import com.devchat.backend.exception.InvalidCursorException;
+import com.devchat.backend.repository.MessageRepository;
+import com.devchat.backend.repository.ThreadRepository;
+import com.devchat.backend.search.DocType;
+import com.devchat.backend.search.SearchHit;
+import com.devchat.backend.search.SearchHits;
+import com.devchat.backend.search.SearchIndex;
+import com.devchat.backend.search.SearchIndexRebuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class SearchServiceImpl implements SearchService {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_OFFSET = 1000;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private SearchIndexRebuilder searchIndexRebuilder;
+
+    @Autowired
+    private ThreadRepository threadRepo;
+
+    @Autowired
+    private MessageRepository messageRepo;
+
+    @Override
+    public PageResponseDto<SearchResultDto> search(String query, String cursor, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        int offset = decodeOffset(cursor);
+
+        SearchHits result = searchIndex.search(query, null, offset, size);
+        List<SearchHit> hits = result.hits();
+
+        List<Long> threadIds = new ArrayList<>();
+        List<Long> messageIds = new ArrayList<>();
+        for (SearchHit hit : hits) {
+            (hit.type() == DocType.THREAD ? threadIds : messageIds).add(hit.id());
+        }
+        Map<Long, Thread> threads = threadIds.isEmpty() ? Map.of() : threadRepo.findAllWithAuthorByIdIn(threadIds)
+                .stream().collect(Collectors.toMap(Thread::getId, Function.identity()));
+        Map<Long, Message> messages = messageIds.isEmpty() ? Map.of() : messageRepo.findAllWithSenderByIdIn(messageIds)
+                .stream().collect(Collectors.toMap(Message::getId, Function.identity()));
+        if (!messages.isEmpty()) {
+            // Replies in deleted threads stay indexed until the purger reaches them
+            Set<Long> liveThreads = new HashSet<>(threadRepo.findExistingIds(messages.values().stream()
+                    .map(m -> m.getThread().getId()).collect(Collectors.toSet())));
+            messages = messages.entrySet().stream()
+                    .filter(e -> liveThreads.contains(e.getValue().getThread().getId()))
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        }
+
+        // Hits whose rows have disappeared since they were indexed are skipped
+        List<SearchResultDto> items = new ArrayList<>(hits.size());
+        for (SearchHit hit : hits) {
+            if (hit.type() == DocType.THREAD && threads.containsKey(hit.id())) {
+                items.add(mapThread(threads.get(hit.id()), hit.score()));
+            } else if (hit.type() == DocType.MESSAGE && messages.containsKey(hit.id())) {
+                items.add(mapMessage(messages.get(hit.id()), hit.score()));
+            }
+        }
+
+        int nextOffset = offset + size;
+        boolean hasMore = result.totalMatches() > nextOffset && nextOffset <= MAX_OFFSET;
+        return new PageResponseDto<>(items, hasMore ? String.valueOf(nextOffset) : null, hasMore);
+    }
+
+    @Override
+    public Map<String, Object> rebuildIndex() {
+        return searchIndexRebuilder.rebuild();
+    }
+
+    private int decodeOffset(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            int offset = Integer.parseInt(cursor);
+            if (offset < 0 || offset > MAX_OFFSET) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            return offset;
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    private SearchResultDto mapThread(Thread thread, double score) {
+        SearchResultDto dto = new SearchResultDto();
+        dto.setType(DocType.THREAD);
+        dto.setId(thread.getId());
+        dto.setThreadId(thread.getId());
+        dto.setTitle(thread.getTitle());
+        dto.setContent(thread.getContent());
+        dto.setAuthor(thread.getAuthor().getUsername());
+        dto.setTimestamp(thread.getCreatedAt());
+        dto.setScore(score);
+        return dto;
+    }
+
+    private SearchResultDto mapMessage(Message msg, double score) {
+        SearchResultDto dto = new SearchResultDto();
+        dto.setType(DocType.MESSAGE);
+        dto.setId(msg.getId());
+        dto.setThreadId(msg.getThread().getId());
+        dto.setContent(msg.getContent());
+        dto.setAuthor(msg.getSender().getUsername());
+        dto.setTimestamp(msg.getTimestamp());
+        dto.setScore(score);
+        return dto;
+    }
+}
@@ -0,0 +1,256 @@
+package com.devchat.backend.service;
+
+import com.devchat.backend.cluster.DomainEvent;
+import com.devchat.backend.cluster.DomainEventBus;
+import com.devchat.backend.dto.ThreadPurgeStatusDto;
+import com.devchat.backend.realtime.ContentVersions;
+import com.devchat.backend.search.SearchIndex;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Removes tombstoned threads in the background: votes, then messages, then the thread row.
+ * Rows are selected by id and deleted in chunks of {@code devchat.threads.purge.chunk-size}, each
+ * in its own short transaction, so no statement holds locks on more than one chunk. Threads still
+ * tombstoned at startup (e.g. after a crash mid-purge) or whose purge failed are picked up again
+ * by the next retry run, every {@code devchat.threads.purge.retry-interval-ms}.
+ */
+@Component
+public class ThreadPurger {
+    private static final Logger logger = LoggerFactory.getLogger(ThreadPurger.class);
+
+    private static final String VOTE_IDS_SQL =
+            "SELECT v.id FROM votes v JOIN messages m ON m.id = v.message_id WHERE m.thread_id = ? LIMIT ?";
+    private static final String MESSAGE_IDS_SQL = "SELECT id FROM messages WHERE thread_id = ? LIMIT ?";
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+    private static final int FINISHED_KEPT = 100;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private ContentVersions contentVersions;
+
+    @Autowired
+    private DomainEventBus clusterEvents;
+
+    @Value("${devchat.threads.purge.chunk-size:1000}")
+    private int chunkSize;
+
+    // Pause between chunks to give replicas and other writers room on large purges
+    @Value("${devchat.threads.purge.pause-ms:0}")
+    private long pauseMs;
+
+    @Value("${devchat.threads.purge.retry-interval-ms:300000}")
+    private long retryIntervalMs;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "thread-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<Long, Progress> jobs = new ConcurrentHashMap<>();
+
+    private static final class Progress {
+        final Long threadId;
+        final LocalDateTime queuedAt = LocalDateTime.now();
+        final AtomicLong votes = new AtomicLong();
+        final AtomicLong messages = new AtomicLong();
+        volatile String state = "QUEUED";
+        volatile LocalDateTime finishedAt;
+        volatile String error;
+
+        Progress(Long threadId) {
+            this.threadId = threadId;
+        }
+
+        boolean isFinished() {
+            return finishedAt != null;
+        }
+    }
+
+    public void submit(Long threadId) {
+        Progress progress = new Progress(threadId);
+        Progress existing = jobs.putIfAbsent(threadId, progress);
+        if (existing != null) {
+            if (!existing.isFinished() || !jobs.replace(threadId, existing, progress)) {
+                return;
+            }
+        }
+        worker.execute(() -> purge(progress));
+    }
+
+    public List<ThreadPurgeStatusDto> getStatus() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing((Progress p) -> p.queuedAt).reversed())
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        List<Long> pending = jdbcTemplate.queryForList("SELECT id FROM threads WHERE deleted_at IS NOT NULL", Long.class);
+        if (!pending.isEmpty()) {
+            logger.info("Resuming purge of {} deleted threads", pending.size());
+            pending.forEach(this::submit);
+        }
+    }
+
+    // Only tombstones older than one interval, so threads deleted meanwhile are left to their own job
+    @Scheduled(fixedDelayString = "${devchat.threads.purge.retry-interval-ms:300000}",
+            initialDelayString = "${devchat.threads.purge.retry-interval-ms:300000}")
+    public void retryPending() {
+        LocalDateTime before = LocalDateTime.now().minus(retryIntervalMs, ChronoUnit.MILLIS);
+        List<Long> pending = jdbcTemplate.queryForList(
+                "SELECT id FROM threads WHERE deleted_at IS NOT NULL AND deleted_at < ?", Long.class, before);
+        if (!pending.isEmpty()) {
+            logger.info("Retrying purge of {} deleted threads", pending.size());
+            pending.forEach(this::submit);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Remaining work is resumed from the tombstones on the next start
+        worker.shutdownNow();
+        worker.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void purge(Progress progress) {
+        Long threadId = progress.threadId;
+        progress.state = "RUNNING";
+        long started = System.currentTimeMillis();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                deleteVotesAndMessages(progress);
+                try {
+                    jdbcTemplate.update("DELETE FROM threads WHERE id = ? AND deleted_at IS NOT NULL", threadId);
+                    break;
+                } catch (DataIntegrityViolationException e) {
+                    // A message was posted after the message phase; sweep again
+                    if (attempt == MAX_CHUNK_ATTEMPTS) {
+                        throw e;
+                    }
+                }
+            }
+            progress.state = "DONE";
+            logger.info("Purged thread {}: {} votes, {} messages in {} ms", threadId,
+                    progress.votes.get(), progress.messages.get(), System.currentTimeMillis() - started);
+        } catch (InterruptedException e) {
+            progress.state = "INTERRUPTED";
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            progress.state = "FAILED";
+            progress.error = e.getMessage();
+            logger.error("Purge of thread {} failed; it stays tombstoned and is retried on the next run", threadId, e);
+        } finally {
+            progress.finishedAt = LocalDateTime.now();
+            trimFinished();
+        }
+    }
+
+    private void deleteVotesAndMessages(Progress progress) throws InterruptedException {
+        Long threadId = progress.threadId;
+        List<Long> voteIds = jdbcTemplate.queryForList(VOTE_IDS_SQL, Long.class, threadId, chunkSize);
+        while (!voteIds.isEmpty()) {
+            progress.votes.addAndGet(deleteChunk("votes", voteIds));
+            pause();
+            voteIds = jdbcTemplate.queryForList(VOTE_IDS_SQL, Long.class, threadId, chunkSize);
+        }
+
+        List<Long> messageIds = jdbcTemplate.queryForList(MESSAGE_IDS_SQL, Long.class, threadId, chunkSize);
+        while (!messageIds.isEmpty()) {
+            progress.messages.addAndGet(deleteMessageChunk(messageIds));
+            messageIds.forEach(searchIndex::removeMessage);
+            contentVersions.votesChanged(messageIds);
+            messageIds.forEach(id -> clusterEvents.publish(DomainEvent.messageDeleted(id)));
+            pause();
+            messageIds = jdbcTemplate.queryForList(MESSAGE_IDS_SQL, Long.class, threadId, chunkSize);
+        }
+    }
+
+    private int deleteChunk(String table, List<Long> ids) {
+        return jdbcTemplate.update("DELETE FROM " + table + " WHERE id IN (" + placeholders(ids.size()) + ")", ids.toArray());
+    }
+
+    private int deleteMessageChunk(List<Long> ids) {
+        String in = placeholders(ids.size());
+        Object[] args = ids.toArray();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                // Votes cast after the vote phase would block the message delete; clear them in the same transaction
+                Integer deleted = transactionTemplate.execute(status -> {
+                    jdbcTemplate.update("DELETE FROM votes WHERE message_id IN (" + in + ")", args);
+                    return jdbcTemplate.update("DELETE FROM messages WHERE id IN (" + in + ")", args);
+                });
+                return deleted == null ? 0 : deleted;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == MAX_CHUNK_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void pause() throws InterruptedException {
+        if (pauseMs > 0) {
+            Thread.sleep(pauseMs);
+        }
+    }
+
+    private void trimFinished() {
+        List<Progress> finished = jobs.values().stream()
+                .filter(Progress::isFinished)
+                .sorted(Comparator.comparing((Progress p) -> p.finishedAt))
+                .collect(Collectors.toList());
+        for (int i = 0; i < finished.size() - FINISHED_KEPT; i++) {
+            jobs.remove(finished.get(i).threadId, finished.get(i));
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private ThreadPurgeStatusDto toDto(Progress progress) {
+        ThreadPurgeStatusDto dto = new ThreadPurgeStatusDto();
+        dto.setThreadId(progress.threadId);
+        dto.setState(progress.state);
+        dto.setVotesDeleted(progress.votes.get());
+        dto.setMessagesDeleted(progress.messages.get());
+        dto.setQueuedAt(progress.queuedAt);
+        dto.setFinishedAt(progress.finishedAt);
+        dto.setError(progress.error);
+        return dto;
+    }
+}
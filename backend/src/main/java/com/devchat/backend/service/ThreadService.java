@@ -1,5 +1,6 @@
 package com.devchat.backend.service;
 
+import com.devchat.backend.dto.PageResponseDto;
 import com.devchat.backend.dto.ThreadRequestDto;
 import com.devchat.backend.dto.ThreadResponseDto;
 
@@ -8,6 +9,9 @@ import java.util.List;
 public interface ThreadService {
     ThreadResponseDto createThread(ThreadRequestDto dto);
     List<ThreadResponseDto> getAllThreads();
+    PageResponseDto<ThreadResponseDto> getThreadPage(String cursor, Integer limit);
+    PageResponseDto<ThreadResponseDto> getActiveThreadPage(String cursor, Integer limit);
+    PageResponseDto<ThreadResponseDto> getHotThreadPage(String cursor, Integer limit);
     ThreadResponseDto getThreadById(Long id);
     List<ThreadResponseDto> searchThreads(String keyword);
     ThreadResponseDto updateThread(Long threadId, ThreadRequestDto dto);
@@ -1,31 +1,75 @@
 package com.devchat.backend.service;
 
+import com.devchat.backend.cluster.DomainEvent;
+import com.devchat.backend.cluster.DomainEventBus;
+import com.devchat.backend.config.CacheConfig;
+import com.devchat.backend.dto.PageResponseDto;
 import com.devchat.backend.dto.ThreadRequestDto;
 import com.devchat.backend.dto.ThreadResponseDto;
 import com.devchat.backend.entity.Thread;
 import com.devchat.backend.entity.User;
 import com.devchat.backend.exception.ThreadNotFoundException;
+import com.devchat.backend.ranking.HotScore;
+import com.devchat.backend.ranking.HotThreadRanking;
+import com.devchat.backend.realtime.ContentVersions;
+import com.devchat.backend.replica.ReadConsistency;
 import com.devchat.backend.repository.ThreadRepository;
 import com.devchat.backend.repository.UserRepository;
+import com.devchat.backend.search.DocType;
+import com.devchat.backend.search.SearchHit;
+import com.devchat.backend.search.SearchIndex;
+import com.devchat.backend.util.CursorCodec;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class ThreadServiceImpl implements ThreadService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private ThreadRepository threadRepo;
 
     @Autowired
     private UserRepository userRepo;
 
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private HotThreadRanking hotThreadRanking;
+
+    @Autowired
+    private ThreadPurger threadPurger;
+
+    @Autowired
+    private ContentVersions contentVersions;
+
+    @Autowired
+    private DomainEventBus clusterEvents;
+
+    @Autowired
+    private ReadConsistency readConsistency;
+
     @Override
+    @CacheEvict(cacheNames = CacheConfig.THREAD_FIRST_PAGE, allEntries = true)
     public ThreadResponseDto createThread(ThreadRequestDto dto) {
         String loggedInUsername = SecurityContextHolder.getContext().getAuthentication().getName();
 
@@ -37,15 +81,26 @@ public class ThreadServiceImpl implements ThreadService {
         thread.setContent(dto.getContent());
         thread.setAuthor(user);
         thread.setCreatedAt(LocalDateTime.now());
+        thread.setLastActivityAt(thread.getCreatedAt());
+        thread.setHotRank(HotScore.of(thread.getCreatedAt(), 0, 0));
 
-        return mapToDto(threadRepo.save(thread));
+        Thread saved = threadRepo.save(thread);
+        searchIndex.indexThread(saved.getId(), saved.getTitle(), saved.getContent());
+        hotThreadRanking.put(saved.getId(), saved.getHotRank());
+        contentVersions.threadChanged(saved.getId());
+        clusterEvents.publish(DomainEvent.threadSaved(saved.getId()));
+        return mapToDto(saved);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.THREADS, key = "#threadId"),
+            @CacheEvict(cacheNames = CacheConfig.THREAD_FIRST_PAGE, allEntries = true)
+    })
     public ThreadResponseDto updateThread(Long threadId, ThreadRequestDto dto) {
         String loggedInUsername = SecurityContextHolder.getContext().getAuthentication().getName();
 
-        Thread thread = threadRepo.findById(threadId)
+        Thread thread = threadRepo.findWithAuthorById(threadId)
                 .orElseThrow(() -> new ThreadNotFoundException("Thread not found"));
 
         // Check if the current user is the author of the thread
@@ -56,14 +111,23 @@ public class ThreadServiceImpl implements ThreadService {
         thread.setTitle(dto.getTitle());
         thread.setContent(dto.getContent());
 
-        return mapToDto(threadRepo.save(thread));
+        Thread saved = threadRepo.save(thread);
+        searchIndex.indexThread(saved.getId(), saved.getTitle(), saved.getContent());
+        contentVersions.threadChanged(saved.getId());
+        clusterEvents.publish(DomainEvent.threadSaved(saved.getId()));
+        return mapToDto(saved);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.THREADS, key = "#threadId"),
+            @CacheEvict(cacheNames = CacheConfig.THREAD_FIRST_PAGE, allEntries = true)
+    })
+    @Transactional
     public String deleteThread(Long threadId) {
         String loggedInUsername = SecurityContextHolder.getContext().getAuthentication().getName();
 
-        Thread thread = threadRepo.findById(threadId)
+        Thread thread = threadRepo.findWithAuthorById(threadId)
                 .orElseThrow(() -> new ThreadNotFoundException("Thread not found"));
 
         // Check if the current user is the author of the thread
@@ -71,7 +135,18 @@ public class ThreadServiceImpl implements ThreadService {
             throw new RuntimeException("Access denied: You can only delete your own threads");
         }
 
-        threadRepo.delete(thread);
+        // Tombstone now; replies and votes are removed in chunks by the background purger
+        threadRepo.markDeleted(threadId, LocalDateTime.now());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                searchIndex.removeThread(threadId);
+                hotThreadRanking.remove(threadId);
+                contentVersions.threadChanged(threadId);
+                clusterEvents.publish(DomainEvent.threadDeleted(threadId));
+                threadPurger.submit(threadId);
+            }
+        });
         return "Thread deleted successfully";
     }
 
@@ -80,24 +155,141 @@ public class ThreadServiceImpl implements ThreadService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ThreadResponseDto> getAllThreads() {
-        return threadRepo.findAll()
+        readConsistency.requireChangesSince(contentVersions.threadListChangedAt());
+        return threadRepo.findAllWithAuthor()
                 .stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.THREAD_FIRST_PAGE, key = "#limit == null ? 0 : #limit",
+            condition = "#cursor == null || #cursor.isBlank()")
+    public PageResponseDto<ThreadResponseDto> getThreadPage(String cursor, Integer limit) {
+        readConsistency.requireChangesSince(contentVersions.threadListChangedAt());
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        PageRequest pageRequest = PageRequest.of(0, size + 1);
+        List<Thread> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = threadRepo.findLatest(pageRequest);
+        } else {
+            CursorCodec.Position position = CursorCodec.decode(cursor);
+            rows = threadRepo.findOlderThan(position.timestamp(), position.id(), pageRequest);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<Thread> page = hasMore ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Thread last = page.get(page.size() - 1);
+            nextCursor = CursorCodec.encode(last.getCreatedAt(), last.getId());
+        }
+
+        List<ThreadResponseDto> items = page.stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+        return new PageResponseDto<>(items, nextCursor, hasMore);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponseDto<ThreadResponseDto> getActiveThreadPage(String cursor, Integer limit) {
+        readConsistency.requireChangesSince(contentVersions.threadListChangedAt());
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // Activity moves threads to the front, so a later page can repeat a thread that was bumped meanwhile
+        PageRequest pageRequest = PageRequest.of(0, size + 1);
+        List<Thread> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = threadRepo.findMostActive(pageRequest);
+        } else {
+            CursorCodec.Position position = CursorCodec.decode(cursor);
+            rows = threadRepo.findActiveBefore(position.timestamp(), position.id(), pageRequest);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<Thread> page = hasMore ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Thread last = page.get(page.size() - 1);
+            nextCursor = CursorCodec.encode(last.getLastActivityAt(), last.getId());
+        }
+
+        List<ThreadResponseDto> items = page.stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+        return new PageResponseDto<>(items, nextCursor, hasMore);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponseDto<ThreadResponseDto> getHotThreadPage(String cursor, Integer limit) {
+        readConsistency.requireChangesSince(contentVersions.threadListChangedAt());
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        List<HotThreadRanking.RankedThread> ranked;
+        if (cursor == null || cursor.isBlank()) {
+            ranked = hotThreadRanking.page(null, null, size + 1);
+        } else {
+            CursorCodec.ScorePosition position = CursorCodec.decodeScore(cursor);
+            ranked = hotThreadRanking.page(position.score(), position.id(), size + 1);
+        }
+
+        boolean hasMore = ranked.size() > size;
+        List<HotThreadRanking.RankedThread> page = hasMore ? ranked.subList(0, size) : ranked;
+
+        String nextCursor = null;
+        if (hasMore) {
+            HotThreadRanking.RankedThread last = page.get(page.size() - 1);
+            nextCursor = CursorCodec.encode(last.score(), last.threadId());
+        }
+
+        // One query for the page, returned in ranking order
+        List<Long> ids = page.stream().map(HotThreadRanking.RankedThread::threadId).collect(Collectors.toList());
+        Map<Long, Thread> threads = ids.isEmpty() ? Map.of() : threadRepo.findAllWithAuthorByIdIn(ids).stream()
+                .collect(Collectors.toMap(Thread::getId, Function.identity()));
+        List<ThreadResponseDto> items = ids.stream()
+                .map(threads::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+        return new PageResponseDto<>(items, nextCursor, hasMore);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.THREADS, key = "#id")
+    @Transactional(readOnly = true)
     public ThreadResponseDto getThreadById(Long id) {
-        Thread thread = threadRepo.findById(id)
+        // Whatever is loaded here gets cached, so it must not predate the last change
+        readConsistency.requireChangesSince(contentVersions.threadChangedAt(id));
+        Thread thread = threadRepo.findWithAuthorById(id)
                 .orElseThrow(() -> new ThreadNotFoundException("Thread not found"));
         return mapToDto(thread);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ThreadResponseDto> searchThreads(String keyword) {
-        return threadRepo.searchByKeyword(keyword)
-                .stream()
+        List<Long> ids = searchIndex.search(keyword, DocType.THREAD, 0, MAX_PAGE_SIZE).hits().stream()
+                .map(SearchHit::id)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Keep the relevance order of the index rather than the order rows come back in
+        Map<Long, Thread> threads = threadRepo.findAllWithAuthorByIdIn(ids).stream()
+                .collect(Collectors.toMap(Thread::getId, Function.identity()));
+        return ids.stream()
+                .map(threads::get)
+                .filter(Objects::nonNull)
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
     }
@@ -109,6 +301,10 @@ public class ThreadServiceImpl implements ThreadService {
         dto.setContent(thread.getContent());
         dto.setAuthor(thread.getAuthor().getUsername());
         dto.setCreatedAt(thread.getCreatedAt());
+        dto.setMessageCount(thread.getMessageCount());
+        dto.setLastMessageAt(thread.getLastMessageAt());
+        dto.setLastReplier(thread.getLastReplierUsername());
+        dto.setScore(thread.getScore());
         return dto;
     }
 }
\ No newline at end of file
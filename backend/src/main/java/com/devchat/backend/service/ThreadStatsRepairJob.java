@@ -0,0 +1,130 @@
+package com.devchat.backend.service;
+
+import com.devchat.backend.config.CacheConfig;
+import com.devchat.backend.ranking.HotScore;
+import com.devchat.backend.ranking.HotThreadRanking;
+import com.devchat.backend.realtime.ContentVersions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Recomputes the denormalized thread stats and hot rank from {@code messages}, one id range per statement
+ * so each chunk commits on its own and row locks are held briefly. Runs nightly, at startup
+ * when threads have never been computed (e.g. right after the columns were added), and on
+ * demand from the admin API.
+ */
+@Component
+public class ThreadStatsRepairJob {
+    private static final Logger logger = LoggerFactory.getLogger(ThreadStatsRepairJob.class);
+
+    private static final String CHUNK_SQL = "SELECT id FROM threads WHERE id > ? ORDER BY id LIMIT ?";
+
+    private static final String REPAIR_SQL = """
+            UPDATE threads t SET
+              message_count = (SELECT COUNT(*) FROM messages m WHERE m.thread_id = t.id),
+              score = (SELECT COALESCE(SUM(m.upvotes - m.downvotes), 0) FROM messages m WHERE m.thread_id = t.id),
+              last_message_at = (SELECT MAX(m.timestamp) FROM messages m WHERE m.thread_id = t.id),
+              last_replier_username = (SELECT u.username FROM messages m JOIN users u ON u.id = m.sender_id
+                                       WHERE m.thread_id = t.id ORDER BY m.timestamp DESC, m.id DESC LIMIT 1),
+              last_activity_at = COALESCE((SELECT MAX(m.timestamp) FROM messages m
+                                           WHERE m.thread_id = t.id AND m.timestamp > t.created_at), t.created_at)
+            WHERE t.id > ? AND t.id <= ?""";
+
+    private static final String STATS_SQL =
+            "SELECT id, created_at, score, message_count FROM threads WHERE id > ? AND id <= ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private HotThreadRanking hotThreadRanking;
+
+    @Autowired
+    private ContentVersions contentVersions;
+
+    @Value("${devchat.threads.stats-repair.chunk-size:500}")
+    private int chunkSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void repairOnStartup() {
+        Integer uncomputed = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM threads WHERE last_activity_at IS NULL OR hot_rank IS NULL", Integer.class);
+        if (uncomputed != null && uncomputed > 0) {
+            logger.info("{} threads have no activity stats yet; repairing", uncomputed);
+            repair();
+        }
+    }
+
+    @Scheduled(cron = "${devchat.threads.stats-repair.cron:0 30 3 * * *}")
+    public void scheduledRepair() {
+        repair();
+    }
+
+    public Map<String, Object> repair() {
+        Map<String, Object> result = new HashMap<>();
+        if (!running.compareAndSet(false, true)) {
+            result.put("message", "Thread stats repair already in progress");
+            return result;
+        }
+
+        long started = System.currentTimeMillis();
+        try {
+            long threads = 0;
+            long lastId = 0;
+            List<Long> ids = jdbcTemplate.queryForList(CHUNK_SQL, Long.class, lastId, chunkSize);
+            while (!ids.isEmpty()) {
+                long chunkEnd = ids.get(ids.size() - 1);
+                jdbcTemplate.update(REPAIR_SQL, lastId, chunkEnd);
+                // Hot rank is computed in Java so the formula lives in one place
+                List<Object[]> ranks = jdbcTemplate.query(STATS_SQL, (rs, n) -> new Object[] {
+                        HotScore.of(rs.getTimestamp("created_at").toLocalDateTime(), rs.getInt("score"), rs.getInt("message_count")),
+                        rs.getLong("id")}, lastId, chunkEnd);
+                jdbcTemplate.batchUpdate("UPDATE threads SET hot_rank = ? WHERE id = ?", ranks);
+                threads += ids.size();
+                lastId = chunkEnd;
+                logger.debug("Thread stats repaired up to id {} ({} threads)", lastId, threads);
+                ids = jdbcTemplate.queryForList(CHUNK_SQL, Long.class, lastId, chunkSize);
+            }
+
+            Cache cache = cacheManager.getCache(CacheConfig.THREADS);
+            if (cache != null) {
+                cache.clear();
+            }
+            hotThreadRanking.reload();
+            contentVersions.threadListChanged();
+            long elapsed = System.currentTimeMillis() - started;
+            logger.info("Thread stats repaired: {} threads in {} ms", threads, elapsed);
+
+            result.put("message", "Thread stats repaired");
+            result.put("threads", threads);
+            result.put("elapsedMs", elapsed);
+            return result;
+        } catch (RuntimeException e) {
+            logger.error("Thread stats repair failed", e);
+            throw e;
+        } finally {
+            running.set(false);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.devchat.backend.service;
+
+import com.devchat.backend.cluster.DomainEvent;
+import com.devchat.backend.cluster.DomainEventBus;
+import com.devchat.backend.config.CacheConfig;
+import com.devchat.backend.entity.Message;
+import com.devchat.backend.ranking.HotThreadRanking;
+import com.devchat.backend.realtime.ContentVersions;
+import com.devchat.backend.repository.MessageRepository;
+import com.devchat.backend.repository.ThreadRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Keeps the denormalized activity columns on {@code threads} in step with message and vote
+ * writes. Every change is a relative UPDATE in the caller's transaction, so concurrent writers
+ * never overwrite each other; {@link ThreadStatsRepairJob} corrects any drift. After commit the
+ * cached thread DTO and the cached first page of the thread list are evicted, the thread's ETag
+ * version is bumped and the thread is queued for re-ranking in the hot feed.
+ */
+@Component
+public class ThreadStatsUpdater {
+
+    @Autowired
+    private ThreadRepository threadRepo;
+
+    @Autowired
+    private MessageRepository messageRepo;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private HotThreadRanking hotThreadRanking;
+
+    @Autowired
+    private ContentVersions contentVersions;
+
+    @Autowired
+    private DomainEventBus clusterEvents;
+
+    public void messagesAdded(Long threadId, int count, LocalDateTime latestAt, String replier) {
+        threadRepo.recordMessages(threadId, count, latestAt, replier);
+        changedAfterCommit(threadId);
+    }
+
+    public void messageRemoved(Message message) {
+        Long threadId = message.getThread().getId();
+        threadRepo.recordMessageRemoved(threadId, message.getUpvotes() - message.getDownvotes());
+
+        Optional<Message> latest = messageRepo.findLatestInThread(threadId, PageRequest.of(0, 1)).stream().findFirst();
+        threadRepo.replaceLastMessage(threadId, message.getTimestamp(),
+                latest.map(Message::getTimestamp).orElse(null),
+                latest.map(m -> m.getSender().getUsername()).orElse(null));
+        changedAfterCommit(threadId);
+    }
+
+    public void scoreChanged(Long threadId, int delta) {
+        if (delta != 0) {
+            threadRepo.adjustScore(threadId, delta);
+            changedAfterCommit(threadId);
+        }
+    }
+
+    private void changedAfterCommit(Long threadId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changed(threadId);
+                }
+            });
+        } else {
+            changed(threadId);
+        }
+    }
+
+    private void changed(Long threadId) {
+        Cache cache = cacheManager.getCache(CacheConfig.THREADS);
+        if (cache != null) {
+            cache.evict(threadId);
+        }
+        // The first page shows message counts and last activity
+        Cache firstPage = cacheManager.getCache(CacheConfig.THREAD_FIRST_PAGE);
+        if (firstPage != null) {
+            firstPage.clear();
+        }
+        hotThreadRanking.markDirty(threadId);
+        contentVersions.threadChanged(threadId);
+        clusterEvents.publish(DomainEvent.threadStatsChanged(threadId));
+    }
+}
@@ -1,5 +1,6 @@
 package com.devchat.backend.service;
 
+import com.devchat.backend.dto.PageResponseDto;
 import com.devchat.backend.dto.UserRequestDto;
 import com.devchat.backend.dto.UserResponseDto;
 
@@ -9,4 +10,6 @@ public interface UserService {
     UserResponseDto createUser(UserRequestDto userDto);
     UserResponseDto getUserByUsername(String username);
     List<UserResponseDto> getAllUsers();
+    PageResponseDto<UserResponseDto> getUserPage(String cursor, Integer limit);
+    List<String> completeUsernames(String prefix, Integer limit);
 }
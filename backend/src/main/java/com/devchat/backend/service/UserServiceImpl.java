@@ -1,14 +1,22 @@
 package com.devchat.backend.service;
 
+import com.devchat.backend.cluster.DomainEvent;
+import com.devchat.backend.cluster.DomainEventBus;
+import com.devchat.backend.dto.PageResponseDto;
 import com.devchat.backend.dto.UserRequestDto;
 import com.devchat.backend.dto.UserResponseDto;
 import com.devchat.backend.entity.User;
 import com.devchat.backend.enums.Role;
 import com.devchat.backend.exception.UserNotFoundException;
 import com.devchat.backend.repository.UserRepository;
+import com.devchat.backend.repository.UserSummaryView;
+import com.devchat.backend.search.UsernamePrefixIndex;
+import com.devchat.backend.util.CursorCodec;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -17,10 +25,22 @@ import java.util.stream.Collectors;
 @Service
 public class UserServiceImpl implements UserService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int DEFAULT_COMPLETIONS = 10;
+    private static final int MAX_COMPLETIONS = 50;
+
     @Autowired
     private UserRepository userRepo;
 
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UsernamePrefixIndex usernameIndex;
+
+    @Autowired
+    private DomainEventBus clusterEvents;
 
     @Override
     public UserResponseDto createUser(UserRequestDto userDto) {
@@ -32,6 +52,10 @@ public class UserServiceImpl implements UserService {
         user.setVerified(user.getRole() == Role.USER);
 
         User savedUser = userRepo.save(user);
+        if (savedUser.isVerified()) {
+            usernameIndex.add(savedUser.getUsername());
+            clusterEvents.publish(DomainEvent.userVerified(savedUser.getId(), savedUser.getUsername()));
+        }
         return mapToResponse(savedUser);
     }
 
@@ -44,9 +68,33 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public List<UserResponseDto> getAllUsers() {
-        return userRepo.findAll().stream()
+        return userRepo.findSummariesAfter(0L, Pageable.unpaged()).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public PageResponseDto<UserResponseDto> getUserPage(String cursor, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long afterId = cursor == null || cursor.isBlank() ? 0L : CursorCodec.decodeId(cursor);
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<UserSummaryView> rows = userRepo.findSummariesAfter(afterId, PageRequest.of(0, size + 1));
+        boolean hasMore = rows.size() > size;
+        List<UserSummaryView> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? CursorCodec.encode(page.get(page.size() - 1).getId()) : null;
+
+        List<UserResponseDto> items = page.stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
+        return new PageResponseDto<>(items, nextCursor, hasMore);
+    }
+
+    @Override
+    public List<String> completeUsernames(String prefix, Integer limit) {
+        int size = limit == null ? DEFAULT_COMPLETIONS : Math.max(1, Math.min(limit, MAX_COMPLETIONS));
+        String stripped = prefix == null ? "" : prefix.startsWith("@") ? prefix.substring(1) : prefix;
+        return usernameIndex.complete(stripped, size);
     }
 
     public String getLoggedInUsername() {
@@ -62,4 +110,14 @@ public class UserServiceImpl implements UserService {
         dto.setVerified(user.isVerified());
         return dto;
     }
+
+    private UserResponseDto mapToResponse(UserSummaryView user) {
+        UserResponseDto dto = new UserResponseDto();
+        dto.setId(user.getId());
+        dto.setUsername(user.getUsername());
+        dto.setEmail(user.getEmail());
+        dto.setRole(user.getRole());
+        dto.setVerified(user.isVerified());
+        return dto;
+    }
 }
\ No newline at end of file
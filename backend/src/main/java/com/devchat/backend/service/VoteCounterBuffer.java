@@ -0,0 +1,211 @@
+package com.devchat.backend.service;
+
+import com.devchat.backend.cluster.DomainEvent;
+import com.devchat.backend.cluster.DomainEventBus;
+import com.devchat.backend.ranking.HotThreadRanking;
+import com.devchat.backend.realtime.ContentVersions;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for message vote counts. Vote deltas are absorbed by striped in-memory
+ * counters and periodically written to {@code messages} in JDBC batches, so a viral message
+ * does not serialize every vote on its row lock.
+ *
+ * <p>A flushed amount is subtracted from the buffer only after its batch commits, so a failed
+ * flush is retried on the next run and no delta is lost. Between commit and subtraction a reader
+ * may briefly see the delta twice. The owning thread's aggregate score is adjusted in the same
+ * transaction.
+ */
+@Component
+public class VoteCounterBuffer {
+    private static final Logger logger = LoggerFactory.getLogger(VoteCounterBuffer.class);
+
+    private static final String FLUSH_SQL =
+            "UPDATE messages SET upvotes = upvotes + ?, downvotes = downvotes + ? WHERE id = ?";
+
+    private static final String THREAD_SCORE_SQL =
+            "UPDATE threads SET score = score + ? WHERE id = (SELECT thread_id FROM messages WHERE id = ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private HotThreadRanking hotThreadRanking;
+
+    @Autowired
+    private ContentVersions contentVersions;
+
+    @Autowired
+    private DomainEventBus clusterEvents;
+
+    @Value("${devchat.votes.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${devchat.votes.write-behind.batch-size:500}")
+    private int batchSize;
+
+    private final ConcurrentHashMap<Long, Pending> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private static final class Pending {
+        final LongAdder up = new LongAdder();
+        final LongAdder down = new LongAdder();
+        // Set by the flusher while it decides whether an idle entry can be dropped from the map
+        volatile boolean retired;
+
+        boolean isZero() {
+            return up.sum() == 0 && down.sum() == 0;
+        }
+    }
+
+    private record Delta(Long messageId, Pending entry, long up, long down) {}
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void record(Long messageId, int upDelta, int downDelta) {
+        while (true) {
+            Pending entry = pending.computeIfAbsent(messageId, id -> new Pending());
+            entry.up.add(upDelta);
+            entry.down.add(downDelta);
+            if (!entry.retired) {
+                return;
+            }
+            // The flusher is dropping this entry; take the delta back and retry on a live one
+            entry.up.add(-upDelta);
+            entry.down.add(-downDelta);
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Returns the not-yet-flushed {upvotes, downvotes} delta for a message.
+     */
+    public int[] pendingFor(Long messageId) {
+        Pending entry = pending.get(messageId);
+        if (entry == null) {
+            return new int[] {0, 0};
+        }
+        return new int[] {(int) entry.up.sum(), (int) entry.down.sum()};
+    }
+
+    @Scheduled(fixedDelayString = "${devchat.votes.write-behind.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        if (enabled && !pending.isEmpty()) {
+            flush();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (!pending.isEmpty()) {
+            logger.info("Flushing {} buffered vote counters before shutdown", pending.size());
+            flush();
+        }
+    }
+
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<Delta> deltas = new ArrayList<>();
+            for (Map.Entry<Long, Pending> e : pending.entrySet()) {
+                Pending entry = e.getValue();
+                long up = entry.up.sum();
+                long down = entry.down.sum();
+                if (up != 0 || down != 0) {
+                    deltas.add(new Delta(e.getKey(), entry, up, down));
+                } else {
+                    evictIfIdle(e.getKey(), entry);
+                }
+            }
+
+            for (int from = 0; from < deltas.size(); from += batchSize) {
+                List<Delta> batch = deltas.subList(from, Math.min(from + batchSize, deltas.size()));
+                List<Delta> scored = batch.stream().filter(delta -> delta.up() != delta.down()).toList();
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(FLUSH_SQL, batch, batch.size(), (ps, delta) -> {
+                        ps.setLong(1, delta.up());
+                        ps.setLong(2, delta.down());
+                        ps.setLong(3, delta.messageId());
+                    });
+                    jdbcTemplate.batchUpdate(THREAD_SCORE_SQL, scored, Math.max(1, scored.size()), (ps, delta) -> {
+                        ps.setLong(1, delta.up() - delta.down());
+                        ps.setLong(2, delta.messageId());
+                    });
+                });
+                // Committed: remove exactly what was written, keeping anything added meanwhile
+                for (Delta delta : batch) {
+                    delta.entry().up.add(-delta.up());
+                    delta.entry().down.add(-delta.down());
+                }
+                markChanged(batch);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Vote counter flush failed; deltas stay buffered for the next run", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void markChanged(List<Delta> flushed) {
+        String placeholders = String.join(",", Collections.nCopies(flushed.size(), "?"));
+        Object[] ids = flushed.stream().map(Delta::messageId).toArray();
+        Map<Long, Long> threadByMessage = new HashMap<>();
+        jdbcTemplate.query("SELECT id, thread_id FROM messages WHERE id IN (" + placeholders + ")",
+                rs -> { threadByMessage.put(rs.getLong(1), rs.getLong(2)); }, ids);
+
+        Set<Long> scoredThreads = new HashSet<>();
+        for (Delta delta : flushed) {
+            // Counts left the buffer, so lagging replicas would now miss them
+            contentVersions.votesChanged(delta.messageId());
+            Long threadId = threadByMessage.get(delta.messageId());
+            if (threadId == null) {
+                continue;
+            }
+            // Other nodes only see the counts once they are in the database
+            clusterEvents.publish(DomainEvent.votesChanged(delta.messageId(), threadId));
+            if (delta.up() != delta.down()) {
+                scoredThreads.add(threadId);
+            }
+        }
+        for (Long threadId : scoredThreads) {
+            hotThreadRanking.markDirty(threadId);
+            contentVersions.threadChanged(threadId);
+            clusterEvents.publish(DomainEvent.threadStatsChanged(threadId));
+        }
+    }
+
+    private void evictIfIdle(Long messageId, Pending entry) {
+        // Retire before re-reading: a concurrent record() either sees the flag and retries,
+        // or its delta is visible to the second read and the entry is kept
+        entry.retired = true;
+        if (entry.isZero()) {
+            pending.remove(messageId, entry);
+        } else {
+            entry.retired = false;
+        }
+    }
+}
@@ -1,17 +1,27 @@
 package com.devchat.backend.service;
 
+import com.devchat.backend.cluster.DomainEvent;
+import com.devchat.backend.cluster.DomainEventBus;
+import com.devchat.backend.dto.ThreadEventDto;
 import com.devchat.backend.dto.VoteRequestDto;
-import com.devchat.backend.entity.Message;
-import com.devchat.backend.entity.User;
 import com.devchat.backend.entity.Vote;
 import com.devchat.backend.enums.VoteType;
 import com.devchat.backend.repository.MessageRepository;
 import com.devchat.backend.repository.UserRepository;
+import com.devchat.backend.repository.VoteCountsView;
 import com.devchat.backend.repository.VoteRepository;
+import com.devchat.backend.realtime.ContentVersions;
+import com.devchat.backend.realtime.ThreadEventBroadcaster;
+import com.devchat.backend.replica.ReadConsistency;
+import com.devchat.backend.security.JwtPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -29,74 +39,146 @@ public class VoteServiceImpl implements VoteService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private VoteCounterBuffer voteCounterBuffer;
+
+    @Autowired
+    private ThreadEventBroadcaster broadcaster;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ThreadStatsUpdater threadStatsUpdater;
+
+    @Autowired
+    private ContentVersions contentVersions;
+
+    @Autowired
+    private DomainEventBus clusterEvents;
+
+    @Autowired
+    private ReadConsistency readConsistency;
+
     @Override
     @Transactional
     public Map<String, Object> vote(VoteRequestDto dto) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        Message message = messageRepository.findById(dto.getMessageId())
-                .orElseThrow(() -> new RuntimeException("Message not found"));
-
-        Optional<Vote> existingVote = voteRepository.findByUserIdAndMessageId(user.getId(), dto.getMessageId());
-
-        if (existingVote.isPresent()) {
-            Vote vote = existingVote.get();
-            if (vote.getVoteType() == dto.getVoteType()) {
-                // Same vote type - remove the vote
-                voteRepository.delete(vote);
-                updateMessageVoteCounts(message);
-
-                Map<String, Object> response = new HashMap<>();
-                response.put("message", "Vote removed");
-                response.put("voteCounts", getVoteCounts(dto.getMessageId()));
-                return response;
-            } else {
-                // Different vote type - update the vote
-                vote.setVoteType(dto.getVoteType());
-                voteRepository.save(vote);
-                updateMessageVoteCounts(message);
-
-                Map<String, Object> response = new HashMap<>();
-                response.put("message", "Vote updated");
-                response.put("voteCounts", getVoteCounts(dto.getMessageId()));
-                return response;
+        Long userId = currentUserId();
+        Long messageId = dto.getMessageId();
+
+        if (voteCounterBuffer.isEnabled()) {
+            // Hot messages: votes don't queue on the message row, only on the voter's own row below
+            if (!messageRepository.existsById(messageId)) {
+                throw new RuntimeException("Message not found");
             }
+        } else if (messageRepository.lockById(messageId).isEmpty()) {
+            // Votes on one message serialize on its row, which also orders the vote row locks below
+            throw new RuntimeException("Message not found");
+        }
+
+        // Locked, so two requests from the same user never compute deltas from the same previous vote
+        Optional<Vote> existingVote = voteRepository.findForUpdate(userId, messageId);
+        VoteType previous = existingVote.map(Vote::getVoteType).orElse(null);
+        // Clicking the same vote type again removes the vote
+        VoteType next = previous == dto.getVoteType() ? null : dto.getVoteType();
+
+        int upDelta = delta(VoteType.UPVOTE, previous, next);
+        int downDelta = delta(VoteType.DOWNVOTE, previous, next);
+
+        if (voteCounterBuffer.isEnabled()) {
+            // Buffer the delta only once the vote row is committed
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    voteCounterBuffer.record(messageId, upDelta, downDelta);
+                }
+            });
+        } else {
+            messageRepository.adjustVoteCounts(messageId, upDelta, downDelta);
+        }
+
+        String result;
+        if (existingVote.isPresent() && next == null) {
+            voteRepository.delete(existingVote.get());
+            result = "Vote removed";
+        } else if (existingVote.isPresent()) {
+            existingVote.get().setVoteType(next);
+            result = "Vote updated";
         } else {
-            // New vote
             Vote newVote = new Vote();
-            newVote.setUser(user);
-            newVote.setMessage(message);
-            newVote.setVoteType(dto.getVoteType());
+            newVote.setUser(userRepository.getReferenceById(userId));
+            newVote.setMessage(messageRepository.getReferenceById(messageId));
+            newVote.setVoteType(next);
             voteRepository.save(newVote);
-            updateMessageVoteCounts(message);
+            result = "Vote added";
+        }
+        meterRegistry.counter("devchat.votes", "transition", next == null ? "removed" : previous == null ? "added" : "changed").increment();
+
+        Optional<VoteCountsView> row = messageRepository.findVoteCountsById(messageId);
+        Map<String, Integer> voteCounts = toCounts(messageId, row);
+        if (voteCounterBuffer.isEnabled()) {
+            // This vote's delta reaches the buffer after commit; include it in the reply now
+            voteCounts.merge("upvotes", upDelta, Integer::sum);
+            voteCounts.merge("downvotes", downDelta, Integer::sum);
+        }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "Vote added");
-            response.put("voteCounts", getVoteCounts(dto.getMessageId()));
-            return response;
+        Long threadId = row.map(VoteCountsView::getThreadId).orElse(null);
+        if (threadId != null && !voteCounterBuffer.isEnabled()) {
+            // Buffered deltas reach the thread score when the buffer flushes
+            threadStatsUpdater.scoreChanged(threadId, upDelta - downDelta);
+        }
+        if (threadId != null) {
+            ThreadEventDto event = new ThreadEventDto();
+            event.setType("vote.updated");
+            event.setThreadId(threadId);
+            event.setMessageId(messageId);
+            event.setVoteCounts(Map.copyOf(voteCounts));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // Message lists carry vote counts, so the thread's version moves with the message's
+                    contentVersions.votesChanged(messageId);
+                    contentVersions.threadChanged(threadId);
+                    clusterEvents.publish(DomainEvent.votesChanged(messageId, threadId));
+                    broadcaster.publish(event);
+                    clusterEvents.push(event);
+                }
+            });
         }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", result);
+        response.put("voteCounts", voteCounts);
+        return response;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Map<String, Integer> getVoteCounts(Long messageId) {
-        int upvotes = voteRepository.countByMessageIdAndVoteType(messageId, VoteType.UPVOTE);
-        int downvotes = voteRepository.countByMessageIdAndVoteType(messageId, VoteType.DOWNVOTE);
+        readConsistency.requireChangesSince(contentVersions.votesChangedAt(messageId));
+        return toCounts(messageId, messageRepository.findVoteCountsById(messageId));
+    }
+
+    private Map<String, Integer> toCounts(Long messageId, Optional<VoteCountsView> row) {
+        int[] buffered = voteCounterBuffer.pendingFor(messageId);
 
         Map<String, Integer> counts = new HashMap<>();
-        counts.put("upvotes", upvotes);
-        counts.put("downvotes", downvotes);
+        counts.put("upvotes", row.map(VoteCountsView::getUpvotes).orElse(0) + buffered[0]);
+        counts.put("downvotes", row.map(VoteCountsView::getDownvotes).orElse(0) + buffered[1]);
         return counts;
     }
 
-    private void updateMessageVoteCounts(Message message) {
-        int upvotes = voteRepository.countByMessageIdAndVoteType(message.getId(), VoteType.UPVOTE);
-        int downvotes = voteRepository.countByMessageIdAndVoteType(message.getId(), VoteType.DOWNVOTE);
+    private static int delta(VoteType type, VoteType previous, VoteType next) {
+        return (next == type ? 1 : 0) - (previous == type ? 1 : 0);
+    }
 
-        message.setUpvotes(upvotes);
-        message.setDownvotes(downvotes);
-        messageRepository.save(message);
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return principal.userId();
+        }
+        return userRepository.findByUsername(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"))
+                .getId();
     }
-}
\ No newline at end of file
+}
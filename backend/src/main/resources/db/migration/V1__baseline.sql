@@ -0,0 +1,50 @@
+-- Schema as created by hibernate ddl-auto before migrations took over. Existing databases
+-- are marked as this version (spring.flyway.baseline-on-migrate) instead of running it.
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255),
+    role ENUM ('ADMIN','DEV','SUPERADMIN','USER'),
+    verified BIT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE threads (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255),
+    content VARCHAR(255),
+    author_id BIGINT,
+    created_at DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE messages (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    sender_id BIGINT,
+    thread_id BIGINT,
+    content VARCHAR(255),
+    timestamp DATETIME(6),
+    upvotes INTEGER NOT NULL,
+    downvotes INTEGER NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE votes (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    message_id BIGINT NOT NULL,
+    vote_type ENUM ('DOWNVOTE','UPVOTE') NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- Constraint names are the ones hibernate generated, so they match baselined databases
+ALTER TABLE users ADD CONSTRAINT UK6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email);
+ALTER TABLE users ADD CONSTRAINT UKr43af9ap4edm43mmtq01oddj6 UNIQUE (username);
+ALTER TABLE votes ADD CONSTRAINT UKi54tyx13ix1y5ig7gmcf6dxhy UNIQUE (user_id, message_id);
+ALTER TABLE messages ADD CONSTRAINT FK4ui4nnwntodh6wjvck53dbk9m FOREIGN KEY (sender_id) REFERENCES users (id);
+ALTER TABLE messages ADD CONSTRAINT FKokawx7d6o3ied1kqje3bgajr9 FOREIGN KEY (thread_id) REFERENCES threads (id);
+ALTER TABLE threads ADD CONSTRAINT FK7n8uiua8ljj5dwubk7wxlm9d0 FOREIGN KEY (author_id) REFERENCES users (id);
+ALTER TABLE votes ADD CONSTRAINT FKjbc0tpo04952kiw1n7ewf8nxj FOREIGN KEY (message_id) REFERENCES messages (id);
+ALTER TABLE votes ADD CONSTRAINT FKli4uj3ic2vypf5pialchj925e FOREIGN KEY (user_id) REFERENCES users (id);
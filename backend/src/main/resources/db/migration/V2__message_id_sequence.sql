@@ -0,0 +1,10 @@
+-- Message ids come from a pooled generator (allocation size 50). MySQL has no sequences, so
+-- hibernate keeps the next value in a one-row table. The pooled optimizer hands out the 50 ids
+-- up to the value it reads, so start one block past the existing ids.
+-- messages.id keeps AUTO_INCREMENT: it is unused once ids are assigned, and dropping it would
+-- mean altering a column that votes references.
+CREATE TABLE messages_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO messages_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM messages;
@@ -0,0 +1,9 @@
+-- Denormalized activity stats, hot feed rank and delete tombstone on threads. New columns
+-- start empty; ThreadStatsRepairJob fills them on the next startup.
+ALTER TABLE threads ADD COLUMN message_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE threads ADD COLUMN score INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE threads ADD COLUMN last_message_at DATETIME(6);
+ALTER TABLE threads ADD COLUMN last_replier_username VARCHAR(255);
+ALTER TABLE threads ADD COLUMN last_activity_at DATETIME(6);
+ALTER TABLE threads ADD COLUMN hot_rank FLOAT(53);
+ALTER TABLE threads ADD COLUMN deleted_at DATETIME(6);
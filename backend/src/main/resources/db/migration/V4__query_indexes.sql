@@ -0,0 +1,20 @@
+-- Secondary indexes, one per repository access path. Each is checked by RepositoryIndexUsageTest.
+-- Where an index starts with a foreign key column, InnoDB drops the implicit index it created
+-- for that key.
+
+-- Message pages of one thread in (timestamp, id) order; latest message; purge chunks
+CREATE INDEX idx_messages_thread_timestamp_id ON messages (thread_id, timestamp, id);
+
+-- Thread feeds: newest, most recently active, hot
+CREATE INDEX idx_threads_created_at_id ON threads (created_at, id);
+CREATE INDEX idx_threads_last_activity_id ON threads (last_activity_at, id);
+CREATE INDEX idx_threads_hot_rank_id ON threads (hot_rank, id);
+
+-- Tombstoned threads still waiting to be purged
+CREATE INDEX idx_threads_deleted_at ON threads (deleted_at);
+
+-- Vote counts per type, and removing a message's votes
+CREATE INDEX idx_votes_message_type ON votes (message_id, vote_type);
+
+-- Pending-user listings: unverified users, optionally of one role, paged by id
+CREATE INDEX idx_users_verified_role_id ON users (verified, role, id);
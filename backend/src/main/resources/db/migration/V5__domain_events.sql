@@ -0,0 +1,16 @@
+-- Outbox shared by the nodes of a cluster (devchat.cluster.transport=outbox). Nodes append the
+-- changes they commit and poll for rows above their own watermark; rows are deleted after
+-- devchat.cluster.outbox.retention-minutes.
+CREATE TABLE domain_events (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    node_id VARCHAR(64) NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    thread_id BIGINT,
+    data TEXT,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- Retention purge
+CREATE INDEX idx_domain_events_created_at ON domain_events (created_at);
@@ -3,7 +3,15 @@ package com.devchat.backend;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:context;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+		"spring.jpa.hibernate.ddl-auto=validate",
+		"superadmin.email=superadmin@context.local",
+		"superadmin.password=context"
+})
 class DevchatBackendApplicationTests {
 
 	@Test
@@ -0,0 +1,134 @@
+package com.devchat.backend.cluster;
+
+import com.devchat.backend.DevchatBackendApplication;
+import com.devchat.backend.dto.ThreadRequestDto;
+import com.devchat.backend.realtime.ContentVersions;
+import com.devchat.backend.search.DocType;
+import com.devchat.backend.search.SearchHit;
+import com.devchat.backend.search.SearchIndex;
+import com.devchat.backend.search.UsernamePrefixIndex;
+import com.devchat.backend.service.ThreadService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs several application contexts in one JVM as the nodes of a cluster. Scheduled flushing
+ * and polling are pushed out of the way, so the tests decide when batches move.
+ */
+class ClusterEventBusTest {
+
+	private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+	@AfterEach
+	void stopNodes() {
+		SecurityContextHolder.clearContext();
+		nodes.forEach(ConfigurableApplicationContext::close);
+	}
+
+	@Test
+	void outboxCarriesChangesToOtherNodes() {
+		ConfigurableApplicationContext a = startNode("outbox", "--devchat.cluster.transport=outbox");
+		ConfigurableApplicationContext b = startNode("outbox", "--devchat.cluster.transport=outbox");
+		String listEtag = b.getBean(ContentVersions.class).threadListEtag();
+
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken("superadmin", null, List.of()));
+		ThreadRequestDto dto = new ThreadRequestDto();
+		dto.setTitle("Rolling deploys");
+		dto.setContent("Draining nodes one at a time");
+		Long threadId = a.getBean(ThreadService.class).createThread(dto).getId();
+		a.getBean(DomainEventBus.class).flush();
+		b.getBean(OutboxEventTransport.class).poll();
+
+		assertThat(b.getBean(SearchIndex.class).search("draining", DocType.THREAD, 0, 10).hits())
+				.extracting(SearchHit::id).containsExactly(threadId);
+		assertThat(b.getBean(ContentVersions.class).threadListEtag()).isNotEqualTo(listEtag);
+	}
+
+	@Test
+	void outboxCoalescesOnBothSides() {
+		ConfigurableApplicationContext a = startNode("coalesce", "--devchat.cluster.transport=outbox");
+		ConfigurableApplicationContext b = startNode("coalesce", "--devchat.cluster.transport=outbox");
+		DomainEventBus bus = a.getBean(DomainEventBus.class);
+		JdbcTemplate jdbc = a.getBean(JdbcTemplate.class);
+
+		for (int i = 0; i < 50; i++) {
+			bus.publish(DomainEvent.votesChanged(7L, 3L));
+		}
+		bus.flush();
+		assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM domain_events WHERE entity_id = 7", Integer.class)).isEqualTo(1);
+
+		bus.publish(DomainEvent.votesChanged(7L, 3L));
+		bus.flush();
+		String etag = b.getBean(ContentVersions.class).messageVotesEtag(7L);
+		b.getBean(OutboxEventTransport.class).poll();
+
+		assertThat(b.getBean(MeterRegistry.class).counter("devchat.cluster.events.received").count()).isEqualTo(1);
+		assertThat(b.getBean(ContentVersions.class).messageVotesEtag(7L)).isNotEqualTo(etag);
+		// Already delivered rows are not delivered again
+		b.getBean(OutboxEventTransport.class).poll();
+		assertThat(b.getBean(MeterRegistry.class).counter("devchat.cluster.events.received").count()).isEqualTo(1);
+	}
+
+	@Test
+	void inJvmTransportConnectsContexts() {
+		ConfigurableApplicationContext a = startNode("in-jvm", "--devchat.cluster.name=in-jvm-test");
+		ConfigurableApplicationContext b = startNode("in-jvm", "--devchat.cluster.name=in-jvm-test");
+		ConfigurableApplicationContext c = startNode("in-jvm", "--devchat.cluster.name=in-jvm-test");
+
+		a.getBean(DomainEventBus.class).publish(DomainEvent.userVerified(42L, "replica_admin"));
+		a.getBean(DomainEventBus.class).flush();
+
+		for (ConfigurableApplicationContext node : List.of(b, c)) {
+			UsernamePrefixIndex index = node.getBean(UsernamePrefixIndex.class);
+			awaitTrue(() -> index.complete("replica", 10).contains("replica_admin"));
+		}
+		assertThat(a.getBean(UsernamePrefixIndex.class).complete("replica", 10)).isEmpty();
+	}
+
+	private ConfigurableApplicationContext startNode(String database, String... extraArgs) {
+		List<String> args = new ArrayList<>(List.of(
+				"--spring.datasource.url=jdbc:h2:mem:cluster-" + database + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+				"--spring.datasource.username=sa",
+				"--spring.datasource.password=",
+				"--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+				"--spring.jpa.hibernate.ddl-auto=validate",
+				"--server.port=0",
+				"--superadmin.email=superadmin@cluster.local",
+				"--superadmin.password=cluster",
+				"--devchat.search.rebuild-on-startup=false",
+				"--devchat.cluster.flush-ms=3600000",
+				"--devchat.cluster.outbox.poll-ms=3600000",
+				"--logging.level.root=WARN"));
+		args.addAll(List.of(extraArgs));
+		ConfigurableApplicationContext node = new SpringApplicationBuilder(DevchatBackendApplication.class)
+				.run(args.toArray(String[]::new));
+		nodes.add(node);
+		return node;
+	}
+
+	private static void awaitTrue(BooleanSupplier condition) {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!condition.getAsBoolean()) {
+			assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package com.devchat.backend.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DomainEventBusTest {
+
+	private final RecordingTransport transport = new RecordingTransport();
+	private final DomainEventBus bus = new DomainEventBus();
+
+	@BeforeEach
+	void wire() {
+		ReflectionTestUtils.setField(bus, "transport", transport);
+		ReflectionTestUtils.setField(bus, "listeners", List.of());
+		ReflectionTestUtils.setField(bus, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(bus, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(bus, "nodeId", "test");
+		ReflectionTestUtils.setField(bus, "batchSize", 100);
+		ReflectionTestUtils.setField(bus, "maxPending", 100);
+	}
+
+	@Test
+	void coalescesEqualEventsButKeepsPushes() {
+		bus.publish(DomainEvent.threadSaved(1L));
+		bus.publish(DomainEvent.threadSaved(1L));
+		bus.publish(DomainEvent.votesChanged(5L, 1L));
+		bus.publish(DomainEvent.threadSaved(1L));
+		bus.flush();
+
+		assertThat(transport.batches).containsExactly(
+				List.of(DomainEvent.threadSaved(1L), DomainEvent.votesChanged(5L, 1L)));
+	}
+
+	@Test
+	void failedBatchIsSentFirstOnTheNextFlush() {
+		transport.failures = 1;
+		bus.publish(DomainEvent.threadSaved(1L));
+		bus.flush();
+		assertThat(transport.batches).isEmpty();
+
+		bus.publish(DomainEvent.threadSaved(2L));
+		bus.flush();
+		assertThat(transport.batches).containsExactly(
+				List.of(DomainEvent.threadSaved(1L)), List.of(DomainEvent.threadSaved(2L)));
+	}
+
+	@Test
+	void publishersAndOtherFlushesDontOvertakeASlowSend() throws Exception {
+		CountDownLatch sending = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		transport.beforeSend = () -> {
+			sending.countDown();
+			await(release);
+		};
+		bus.publish(DomainEvent.threadSaved(1L));
+		CompletableFuture<Void> slow = CompletableFuture.runAsync(bus::flush);
+		assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// Publishing doesn't wait for the send in progress
+		bus.publish(DomainEvent.threadSaved(2L));
+		transport.beforeSend = () -> {};
+		CompletableFuture<Void> second = CompletableFuture.runAsync(bus::flush);
+		Thread.sleep(50);
+		assertThat(second).isNotDone();
+
+		release.countDown();
+		slow.get(5, TimeUnit.SECONDS);
+		second.get(5, TimeUnit.SECONDS);
+		assertThat(transport.batches).containsExactly(
+				List.of(DomainEvent.threadSaved(1L)), List.of(DomainEvent.threadSaved(2L)));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static class RecordingTransport implements EventTransport {
+		final List<List<DomainEvent>> batches = new CopyOnWriteArrayList<>();
+		volatile Runnable beforeSend = () -> {};
+		volatile int failures;
+
+		@Override
+		public void connect(String nodeId, Consumer<List<DomainEvent>> receiver) {
+		}
+
+		@Override
+		public void send(List<DomainEvent> events) {
+			beforeSend.run();
+			if (failures > 0) {
+				failures--;
+				throw new IllegalStateException("transport down");
+			}
+			batches.add(new ArrayList<>(events));
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package com.devchat.backend.controller;
+
+import com.devchat.backend.realtime.ContentVersions;
+import com.devchat.backend.service.VoteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional GETs on vote counts: a current tag is answered with 304 without touching the
+ * service, and a vote on the message invalidates the tag.
+ */
+class VoteControllerTest {
+
+	private final VoteService voteService = mock(VoteService.class);
+	private final ContentVersions contentVersions = new ContentVersions();
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		VoteController controller = new VoteController();
+		ReflectionTestUtils.setField(controller, "voteService", voteService);
+		ReflectionTestUtils.setField(controller, "contentVersions", contentVersions);
+		mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+		when(voteService.getVoteCounts(5L)).thenReturn(Map.of("upvotes", 2, "downvotes", 0));
+	}
+
+	@Test
+	void firstRequestGetsTheBodyAndATag() throws Exception {
+		mockMvc.perform(get("/api/votes/message/5"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, contentVersions.messageVotesEtag(5L)))
+				.andExpect(content().json("{\"upvotes\":2,\"downvotes\":0}"));
+	}
+
+	@Test
+	void currentTagIsAnsweredWithoutLoadingCounts() throws Exception {
+		mockMvc.perform(get("/api/votes/message/5").header(HttpHeaders.IF_NONE_MATCH, contentVersions.messageVotesEtag(5L)))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+
+		verify(voteService, never()).getVoteCounts(5L);
+	}
+
+	@Test
+	void voteInvalidatesTheTag() throws Exception {
+		String tag = contentVersions.messageVotesEtag(5L);
+		contentVersions.votesChanged(5L);
+
+		mockMvc.perform(get("/api/votes/message/5").header(HttpHeaders.IF_NONE_MATCH, tag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, contentVersions.messageVotesEtag(5L)));
+
+		verify(voteService, times(1)).getVoteCounts(5L);
+	}
+}
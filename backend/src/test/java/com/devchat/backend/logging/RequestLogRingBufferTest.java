@@ -0,0 +1,121 @@
+package com.devchat.backend.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestLogRingBufferTest {
+
+	@Test
+	void pollsInOfferOrder() {
+		RequestLogRingBuffer<Integer> buffer = new RequestLogRingBuffer<>(8);
+		assertThat(buffer.poll()).isNull();
+
+		buffer.offer(1);
+		buffer.offer(2);
+		buffer.offer(3);
+
+		assertThat(buffer.poll()).isEqualTo(1);
+		assertThat(buffer.poll()).isEqualTo(2);
+		assertThat(buffer.poll()).isEqualTo(3);
+		assertThat(buffer.poll()).isNull();
+	}
+
+	@Test
+	void dropsAndCountsWhenFull() {
+		RequestLogRingBuffer<Integer> buffer = new RequestLogRingBuffer<>(8);
+		for (int i = 0; i < 8; i++) {
+			assertThat(buffer.offer(i)).isTrue();
+		}
+
+		assertThat(buffer.offer(8)).isFalse();
+		assertThat(buffer.offer(9)).isFalse();
+		assertThat(buffer.droppedCount()).isEqualTo(2);
+
+		// Draining one entry frees exactly one slot
+		assertThat(buffer.poll()).isZero();
+		assertThat(buffer.offer(10)).isTrue();
+		assertThat(buffer.offer(11)).isFalse();
+	}
+
+	@Test
+	void roundsCapacityUpToAPowerOfTwo() {
+		RequestLogRingBuffer<Integer> buffer = new RequestLogRingBuffer<>(5);
+		int accepted = 0;
+		while (buffer.offer(accepted)) {
+			accepted++;
+		}
+		assertThat(accepted).isEqualTo(8);
+	}
+
+	@Test
+	void keepsOrderAcrossWrapAround() {
+		RequestLogRingBuffer<Integer> buffer = new RequestLogRingBuffer<>(4);
+		int next = 0;
+		for (int round = 0; round < 100; round++) {
+			buffer.offer(round * 3);
+			buffer.offer(round * 3 + 1);
+			buffer.offer(round * 3 + 2);
+			for (int i = 0; i < 3; i++) {
+				assertThat(buffer.poll()).isEqualTo(next++);
+			}
+		}
+		assertThat(buffer.droppedCount()).isZero();
+	}
+
+	@Test
+	void concurrentProducersLoseNothingThatWasAccepted() throws Exception {
+		int producers = 4;
+		int perProducer = 50_000;
+		RequestLogRingBuffer<Integer> buffer = new RequestLogRingBuffer<>(1024);
+		AtomicInteger accepted = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(producers);
+		for (int p = 0; p < producers; p++) {
+			int base = p * perProducer;
+			pool.execute(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				for (int i = 0; i < perProducer; i++) {
+					if (buffer.offer(base + i)) {
+						accepted.incrementAndGet();
+					}
+				}
+			});
+		}
+		pool.shutdown();
+
+		List<Integer> received = new ArrayList<>();
+		start.countDown();
+		while (!pool.isTerminated()) {
+			Integer element = buffer.poll();
+			if (element != null) {
+				received.add(element);
+			}
+		}
+		assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		Integer element;
+		while ((element = buffer.poll()) != null) {
+			received.add(element);
+		}
+
+		Set<Integer> unique = new HashSet<>(received);
+		assertThat(unique).hasSize(received.size());
+		assertThat(received).hasSize(accepted.get());
+		assertThat(accepted.get() + buffer.droppedCount()).isEqualTo((long) producers * perProducer);
+	}
+}
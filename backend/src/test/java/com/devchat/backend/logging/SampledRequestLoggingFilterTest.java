@@ -0,0 +1,111 @@
+package com.devchat.backend.logging;
+
+import com.devchat.backend.security.JwtFilter;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SampledRequestLoggingFilterTest {
+
+	private final CapturingWriter writer = new CapturingWriter();
+
+	@Test
+	void logsRejectionsMadeInsideTheSecurityChain() throws Exception {
+		SampledRequestLoggingFilter filter = new SampledRequestLoggingFilter(
+				writer, 0, 1.0, false, 512, List.of("password", "token"));
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/threads");
+		request.setQueryString("token=secret&page=2");
+
+		// Stands in for the security chain: authenticates, rejects, then clears the context on the way out
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+			@Override
+			public void doFilter(ServletRequest req, ServletResponse res) {
+				req.setAttribute(JwtFilter.USERNAME_ATTRIBUTE, "alice");
+				((HttpServletResponse) res).setStatus(429);
+				SecurityContextHolder.clearContext();
+			}
+		});
+
+		assertThat(writer.entries).singleElement().satisfies(entry -> {
+			assertThat(entry.status()).isEqualTo(429);
+			assertThat(entry.user()).isEqualTo("alice");
+			assertThat(entry.query()).isEqualTo("token=***&page=2");
+		});
+	}
+
+	@Test
+	void skipsUnsampledSuccesses() throws Exception {
+		SampledRequestLoggingFilter filter = new SampledRequestLoggingFilter(
+				writer, 0, 1.0, false, 512, List.of("password"));
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/threads"), new MockHttpServletResponse(), new MockFilterChain());
+
+		assertThat(writer.entries).isEmpty();
+	}
+
+	@Test
+	void redactsASecretCutOffAtThePayloadLimit() throws Exception {
+		String body = "{\"username\":\"alice\",\"password\":\"hunter2-correct-horse\"}";
+		int limit = body.indexOf("hunter2") + 4;
+
+		String payload = loggedPayload(body, limit);
+
+		assertThat(payload).doesNotContain("hunt").endsWith("...(truncated)");
+		assertThat(payload).startsWith("{\"username\":\"alice\",\"password\":\"***");
+	}
+
+	@Test
+	void redactsWholeBodiesWithoutATruncationMarker() throws Exception {
+		String payload = loggedPayload("{\"token\":\"abc\\\"def\",\"title\":\"hi\"}", 512);
+
+		assertThat(payload).isEqualTo("{\"token\":\"***\",\"title\":\"hi\"}");
+	}
+
+	@Test
+	void marksBodiesLongerThanTheLimit() throws Exception {
+		String payload = loggedPayload("{\"title\":\"a long title\"}", 10);
+
+		assertThat(payload).isEqualTo("{\"title\":\"...(truncated)");
+	}
+
+	private String loggedPayload(String body, int maxPayloadLength) throws Exception {
+		SampledRequestLoggingFilter filter = new SampledRequestLoggingFilter(
+				writer, 1.0, 1.0, true, maxPayloadLength, List.of("password", "token"));
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+		request.setContentType("application/json");
+		request.setContent(body.getBytes(StandardCharsets.UTF_8));
+
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+			@Override
+			public void doFilter(ServletRequest req, ServletResponse res) throws IOException {
+				req.getInputStream().readAllBytes();
+			}
+		});
+		return writer.entries.get(writer.entries.size() - 1).payload();
+	}
+
+	private static class CapturingWriter extends AsyncRequestLogWriter {
+		final List<RequestLogEntry> entries = new ArrayList<>();
+
+		CapturingWriter() {
+			super(16);
+		}
+
+		@Override
+		boolean submit(RequestLogEntry entry) {
+			entries.add(entry);
+			return true;
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package com.devchat.backend.ranking;
+
+import com.devchat.backend.repository.ThreadHotStatsView;
+import com.devchat.backend.repository.ThreadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HotThreadRankingTest {
+
+	private final ThreadRepository threadRepo = mock(ThreadRepository.class);
+	private final HotThreadRanking ranking = new HotThreadRanking();
+
+	@BeforeEach
+	void wire() {
+		ReflectionTestUtils.setField(ranking, "threadRepo", threadRepo);
+		ReflectionTestUtils.setField(ranking, "capacity", 3);
+	}
+
+	@Test
+	void keepsTheTopThreadsInOrder() {
+		ranking.put(1L, 1.0);
+		ranking.put(2L, 3.0);
+		ranking.put(3L, 2.0);
+		ranking.put(4L, 0.5);
+		ranking.put(1L, 4.0);
+
+		assertThat(ids(ranking.page(null, null, 10))).containsExactly(1L, 2L, 3L);
+		assertThat(ids(ranking.page(3.0, 2L, 10))).containsExactly(3L);
+	}
+
+	@Test
+	void refreshKeepsDirtyThreadsWhenTheQueryFails() {
+		ranking.markDirty(7L);
+		when(threadRepo.findHotStatsByIdIn(anyList())).thenThrow(new QueryTimeoutException("timeout"));
+		ranking.refresh();
+		assertThat(ranking.page(null, null, 10)).isEmpty();
+
+		doReturn(List.of(stats(7L))).when(threadRepo).findHotStatsByIdIn(anyList());
+		ranking.refresh();
+		assertThat(ids(ranking.page(null, null, 10))).containsExactly(7L);
+	}
+
+	@Test
+	void changesDuringReloadAreRefreshedAfterwards() {
+		when(threadRepo.findTopByHotRank(any())).thenAnswer(invocation -> {
+			// Scored while the query runs; the query result predates it
+			ranking.put(9L, 5.0);
+			return List.of(stats(8L));
+		});
+		ranking.reload();
+		assertThat(ids(ranking.page(null, null, 10))).containsExactly(8L);
+
+		when(threadRepo.findHotStatsByIdIn(anyList())).thenReturn(List.of(stats(9L)));
+		ranking.refresh();
+		assertThat(ids(ranking.page(null, null, 10))).contains(8L, 9L);
+	}
+
+	@Test
+	void failedReloadKeepsTheCurrentRanking() {
+		ranking.put(1L, 1.0);
+		when(threadRepo.findTopByHotRank(any())).thenThrow(new QueryTimeoutException("timeout"));
+
+		assertThatThrownBy(ranking::reload).isInstanceOf(QueryTimeoutException.class);
+		assertThat(ids(ranking.page(null, null, 10))).containsExactly(1L);
+	}
+
+	private static List<Long> ids(List<HotThreadRanking.RankedThread> page) {
+		return page.stream().map(HotThreadRanking.RankedThread::threadId).toList();
+	}
+
+	private static ThreadHotStatsView stats(long id) {
+		return new ThreadHotStatsView() {
+			public Long getId() { return id; }
+			public LocalDateTime getCreatedAt() { return LocalDateTime.of(2025, 1, 1, 0, 0); }
+			public int getScore() { return 1; }
+			public int getMessageCount() { return 1; }
+		};
+	}
+}
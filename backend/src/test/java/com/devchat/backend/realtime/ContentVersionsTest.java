@@ -0,0 +1,59 @@
+package com.devchat.backend.realtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentVersionsTest {
+
+	private final ContentVersions versions = new ContentVersions();
+
+	@Test
+	void tagsAreStableUntilAChange() {
+		String list = versions.threadListEtag();
+		String thread = versions.threadMessagesEtag(1L);
+		String votes = versions.messageVotesEtag(10L);
+
+		assertThat(versions.threadListEtag()).isEqualTo(list);
+		assertThat(versions.threadMessagesEtag(1L)).isEqualTo(thread);
+		assertThat(versions.messageVotesEtag(10L)).isEqualTo(votes);
+		assertThat(list).startsWith("W/\"").endsWith("\"");
+	}
+
+	@Test
+	void threadChangeMovesTheThreadAndTheList() {
+		String list = versions.threadListEtag();
+		String thread = versions.threadMessagesEtag(1L);
+		String other = versions.threadMessagesEtag(2L);
+
+		versions.threadChanged(1L);
+
+		assertThat(versions.threadMessagesEtag(1L)).isNotEqualTo(thread);
+		assertThat(versions.threadListEtag()).isNotEqualTo(list);
+		assertThat(versions.threadMessagesEtag(2L)).isEqualTo(other);
+		assertThat(versions.threadChangedAt(1L)).isPositive();
+		assertThat(versions.threadListChangedAt()).isPositive();
+	}
+
+	@Test
+	void voteChangeOnlyMovesThatMessage() {
+		String list = versions.threadListEtag();
+		String changed = versions.messageVotesEtag(10L);
+		String other = versions.messageVotesEtag(11L);
+
+		versions.votesChanged(List.of(10L));
+
+		assertThat(versions.messageVotesEtag(10L)).isNotEqualTo(changed);
+		assertThat(versions.messageVotesEtag(11L)).isEqualTo(other);
+		assertThat(versions.threadListEtag()).isEqualTo(list);
+		assertThat(versions.votesChangedAt(11L)).isZero();
+	}
+
+	@Test
+	void tagsIncludeTheIdSoSharedStripesNeverCollide() {
+		assertThat(versions.threadMessagesEtag(1L)).isNotEqualTo(versions.threadMessagesEtag(4097L));
+		assertThat(versions.messageVotesEtag(1L)).isNotEqualTo(versions.messageVotesEtag(8193L));
+	}
+}
@@ -0,0 +1,95 @@
+package com.devchat.backend.realtime;
+
+import com.devchat.backend.dto.ThreadEventDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThreadEventBroadcasterTest {
+
+	private final ThreadEventBroadcaster broadcaster = new ThreadEventBroadcaster(4, 60_000, 4, 50);
+	private final CountDownLatch unblock = new CountDownLatch(1);
+
+	@AfterEach
+	void stop() {
+		unblock.countDown();
+		broadcaster.shutdown();
+	}
+
+	@Test
+	void stalledSubscriberDoesNotHoldUpOthersAndIsDropped() throws Exception {
+		RecordingEmitter stalled = new RecordingEmitter(unblock);
+		RecordingEmitter healthy = new RecordingEmitter(null);
+		broadcaster.subscribe(1L, stalled);
+		broadcaster.subscribe(1L, healthy);
+
+		broadcaster.publish(event(1L, "message.created"));
+		awaitTrue(() -> healthy.events.size() == 2);
+
+		Thread.sleep(100);
+		broadcaster.dropStalledSubscribers();
+		assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+
+		broadcaster.publish(event(1L, "message.updated"));
+		awaitTrue(() -> healthy.events.size() == 3);
+		assertThat(stalled.events).isEmpty();
+	}
+
+	@Test
+	void subscriberWhoseQueueOverflowsIsDropped() {
+		RecordingEmitter stalled = new RecordingEmitter(unblock);
+		broadcaster.subscribe(2L, stalled);
+		for (int i = 0; i < 10; i++) {
+			broadcaster.publish(event(2L, "message.created"));
+		}
+
+		assertThat(broadcaster.hasSubscribers(2L)).isFalse();
+	}
+
+	private static ThreadEventDto event(Long threadId, String type) {
+		ThreadEventDto event = new ThreadEventDto();
+		event.setThreadId(threadId);
+		event.setType(type);
+		return event;
+	}
+
+	private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!condition.getAsBoolean()) {
+			assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+			Thread.sleep(10);
+		}
+	}
+
+	// Blocks every write until the latch opens, like a client that stopped reading
+	private static class RecordingEmitter extends SseEmitter {
+		final List<SseEventBuilder> events = new CopyOnWriteArrayList<>();
+		private final CountDownLatch blockUntil;
+
+		RecordingEmitter(CountDownLatch blockUntil) {
+			this.blockUntil = blockUntil;
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			if (blockUntil != null) {
+				try {
+					blockUntil.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				throw new IOException("client gone");
+			}
+			events.add(builder);
+		}
+	}
+}
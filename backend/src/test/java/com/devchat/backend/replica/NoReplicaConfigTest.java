@@ -0,0 +1,45 @@
+package com.devchat.backend.replica;
+
+import com.devchat.backend.service.ThreadService;
+import com.devchat.backend.service.VoteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The example config ships {@code devchat.datasource.replicas.urls} empty; that must leave the
+ * replica routing off and read-only transactions on the primary.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:no-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+		"spring.jpa.hibernate.ddl-auto=validate",
+		"superadmin.email=superadmin@no-replica.local",
+		"superadmin.password=no-replica",
+		"devchat.search.rebuild-on-startup=false",
+		"devchat.datasource.replicas.urls="
+})
+class NoReplicaConfigTest {
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Autowired
+	private ThreadService threadService;
+
+	@Autowired
+	private VoteService voteService;
+
+	@Test
+	void emptyReplicaListKeepsReadsOnThePrimary() {
+		assertThat(context.getBeanNamesForType(ReplicaPool.class)).isEmpty();
+
+		assertThat(threadService.getAllThreads()).isEmpty();
+		assertThat(voteService.getVoteCounts(1L)).containsEntry("upvotes", 0).containsEntry("downvotes", 0);
+	}
+}
@@ -0,0 +1,129 @@
+package com.devchat.backend.replica;
+
+import com.devchat.backend.DevchatBackendApplication;
+import com.devchat.backend.dto.ThreadRequestDto;
+import com.devchat.backend.dto.ThreadResponseDto;
+import com.devchat.backend.repository.ThreadRepository;
+import com.devchat.backend.service.MessageService;
+import com.devchat.backend.service.ThreadService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the application against two embedded databases: the primary, and a "replica" served over
+ * TCP so it can be taken down. Nothing replicates between them; the replica holds one thread the
+ * primary doesn't have, which shows where each read went.
+ */
+class ReadReplicaRoutingTest {
+
+	private static final String OPTIONS = ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+	private static final long MAX_LAG_MS = 300;
+	private static final AtomicInteger RUNS = new AtomicInteger();
+
+	private Server replicaServer;
+	private ConfigurableApplicationContext context;
+
+	@BeforeEach
+	void start() throws Exception {
+		int run = RUNS.incrementAndGet();
+		replicaServer = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+		String replicaUrl = "jdbc:h2:tcp://localhost:" + replicaServer.getPort() + "/mem:replica-" + run + OPTIONS;
+		DriverManagerDataSource replica = new DriverManagerDataSource(replicaUrl, "sa", "");
+		Flyway.configure().dataSource(replica).load().migrate();
+		JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+		replicaJdbc.update("INSERT INTO users (id, username, email, role, verified) VALUES (900, 'replica_user', 'replica@test.local', 'USER', 1)");
+		replicaJdbc.update("INSERT INTO threads (id, title, content, author_id, created_at) VALUES (900, 'Only on the replica', 'x', 900, CURRENT_TIMESTAMP)");
+
+		context = new SpringApplicationBuilder(DevchatBackendApplication.class).run(
+				"--spring.datasource.url=jdbc:h2:mem:replica-primary-" + run + OPTIONS,
+				"--spring.datasource.username=sa",
+				"--spring.datasource.password=",
+				"--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+				"--spring.jpa.hibernate.ddl-auto=validate",
+				"--spring.jpa.open-in-view=false",
+				"--server.port=0",
+				"--superadmin.email=superadmin@replica.local",
+				"--superadmin.password=replica",
+				"--devchat.search.rebuild-on-startup=false",
+				"--devchat.datasource.replicas.urls=" + replicaUrl,
+				"--devchat.datasource.replicas.max-lag-ms=" + MAX_LAG_MS,
+				"--devchat.datasource.replicas.health-check-ms=3600000",
+				"--logging.level.root=WARN");
+	}
+
+	@AfterEach
+	void stop() {
+		SecurityContextHolder.clearContext();
+		if (context != null) {
+			context.close();
+		}
+		replicaServer.stop();
+	}
+
+	@Test
+	void readOnlyServiceMethodsReadFromTheReplica() {
+		assertThat(titles(context.getBean(ThreadService.class).getAllThreads())).contains("Only on the replica");
+		// Repository calls outside a service transaction stay on the primary
+		assertThat(context.getBean(ThreadRepository.class).findAllWithAuthor()).isEmpty();
+		assertThat(context.getBean(ThreadRepository.class).findById(900L)).isEmpty();
+		assertThat(context.getBean(MeterRegistry.class).counter("devchat.datasource.reads", "target", "replica").count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	void pagedListsReadFromTheReplica() {
+		ThreadService threads = context.getBean(ThreadService.class);
+		assertThat(titles(threads.getThreadPage(null, 10).getItems())).containsExactly("Only on the replica");
+		assertThat(titles(threads.getActiveThreadPage(null, 10).getItems())).containsExactly("Only on the replica");
+		// Thread 900 only exists on the replica, so the page is only found there
+		assertThat(context.getBean(MessageService.class).getMessagePage(900L, null, null, 10).getItems()).isEmpty();
+		assertThat(context.getBean(MeterRegistry.class).counter("devchat.datasource.reads", "target", "replica").count())
+				.isEqualTo(3);
+	}
+
+	@Test
+	void readsStickToThePrimaryRightAfterOwnWrite() throws InterruptedException {
+		ThreadService threads = context.getBean(ThreadService.class);
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken("superadmin", null, List.of()));
+		ThreadRequestDto dto = new ThreadRequestDto();
+		dto.setTitle("Written to the primary");
+		dto.setContent("y");
+		threads.createThread(dto);
+
+		assertThat(titles(threads.getAllThreads())).containsExactly("Written to the primary");
+
+		Thread.sleep(MAX_LAG_MS + 50);
+		assertThat(titles(threads.getAllThreads())).containsExactly("Only on the replica");
+	}
+
+	@Test
+	void unhealthyReplicaFallsBackToThePrimary() {
+		replicaServer.stop();
+		context.getBean(ReplicaPool.class).checkHealth();
+
+		assertThat(context.getBean(ReplicaPool.class).healthyCount()).isZero();
+		assertThat(context.getBean(ThreadService.class).getAllThreads()).isEmpty();
+		assertThat(context.getBean(MeterRegistry.class).counter("devchat.datasource.reads", "target", "primary").count())
+				.isGreaterThanOrEqualTo(1);
+	}
+
+	private static List<String> titles(List<ThreadResponseDto> threads) {
+		return threads.stream().map(ThreadResponseDto::getTitle).toList();
+	}
+}
@@ -0,0 +1,152 @@
+package com.devchat.backend.repository;
+
+import com.devchat.backend.enums.Role;
+import com.devchat.backend.enums.VoteType;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Builds the schema from the Flyway migrations, runs the repository queries and checks with
+ * EXPLAIN that none of them scans a whole table. H2 in MySQL mode stands in for MySQL, with
+ * hibernate emitting MySQL SQL, and ddl-auto=validate checks the migrations against the entities.
+ *
+ * <p>Not covered, because they read every row by design: ThreadRepository.findAllWithAuthor
+ * (the unpaged thread list) and the leading-wildcard LIKE searches findByTitleContainingIgnoreCase
+ * and searchByKeyword.
+ */
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:explain;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+		"spring.jpa.hibernate.ddl-auto=validate",
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector=com.devchat.backend.repository.RepositoryIndexUsageTest$Recorder"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RepositoryIndexUsageTest {
+
+	private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+	public static class Recorder implements StatementInspector {
+		@Override
+		public String inspect(String sql) {
+			statements.add(sql);
+			return sql;
+		}
+	}
+
+	@Autowired
+	private MessageRepository messageRepository;
+
+	@Autowired
+	private ThreadRepository threadRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private VoteRepository voteRepository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private final LocalDateTime now = LocalDateTime.now();
+
+	@BeforeEach
+	void clear() {
+		statements.clear();
+	}
+
+	@Test
+	void messageQueriesUseIndexes() throws SQLException {
+		messageRepository.findWithSenderById(1L);
+		messageRepository.findByThreadIdOrderByTimestampAscIdAsc(1L);
+		messageRepository.findAllWithSenderByIdIn(List.of(1L, 2L));
+		messageRepository.findLatestInThread(1L, PageRequest.of(0, 1));
+		messageRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 10));
+		messageRepository.findFirstInThread(1L, PageRequest.of(0, 10));
+		messageRepository.findInThreadAfter(1L, now, 1L, PageRequest.of(0, 10));
+		messageRepository.findInThreadBefore(1L, now, 1L, PageRequest.of(0, 10));
+		messageRepository.lockById(1L);
+		messageRepository.adjustVoteCounts(1L, 1, 0);
+		messageRepository.findVoteCountsById(1L);
+
+		assertIndexed(11);
+	}
+
+	@Test
+	void threadQueriesUseIndexes() throws SQLException {
+		threadRepository.findWithAuthorById(1L);
+		threadRepository.findAllWithAuthorByIdIn(List.of(1L, 2L));
+		threadRepository.findExistingIds(List.of(1L, 2L));
+		threadRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 10));
+		threadRepository.findLatest(PageRequest.of(0, 10));
+		threadRepository.findOlderThan(now, 1L, PageRequest.of(0, 10));
+		threadRepository.findHotStatsByIdIn(List.of(1L, 2L));
+		threadRepository.findTopByHotRank(PageRequest.of(0, 10));
+		threadRepository.findMostActive(PageRequest.of(0, 10));
+		threadRepository.findActiveBefore(now, 1L, PageRequest.of(0, 10));
+		threadRepository.recordMessages(1L, 1, now, "user");
+		threadRepository.recordMessageRemoved(1L, 0);
+		threadRepository.replaceLastMessage(1L, now, now, "user");
+		threadRepository.markDeleted(1L, now);
+		threadRepository.adjustScore(1L, 1);
+
+		assertIndexed(15);
+	}
+
+	@Test
+	void userQueriesUseIndexes() throws SQLException {
+		userRepository.findByUsername("user");
+		userRepository.existsByUsername("user");
+		userRepository.findSummariesAfter(0L, PageRequest.of(0, 10));
+		userRepository.findPendingSummariesAfter(0L, PageRequest.of(0, 10));
+		userRepository.findPendingSummariesByRoleAfter(Role.DEV, 0L, PageRequest.of(0, 10));
+		userRepository.findVerifiedSummariesAfter(0L, PageRequest.of(0, 10));
+
+		assertIndexed(6);
+	}
+
+	@Test
+	void voteQueriesUseIndexes() throws SQLException {
+		voteRepository.findForUpdate(1L, 1L);
+		voteRepository.countByMessageIdAndVoteType(1L, VoteType.UPVOTE);
+		voteRepository.deleteByMessageId(1L);
+
+		assertIndexed(3);
+	}
+
+	private void assertIndexed(int expectedStatements) throws SQLException {
+		List<String> queries = statements.stream()
+				.filter(sql -> !sql.toLowerCase(Locale.ROOT).startsWith("insert"))
+				.toList();
+		assertThat(queries).hasSize(expectedStatements);
+		try (Connection connection = dataSource.getConnection()) {
+			for (String sql : queries) {
+				// H2 plans statements with unbound parameters
+				try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql);
+					 ResultSet plan = explain.executeQuery()) {
+					plan.next();
+					assertThat(plan.getString(1)).as("plan for %s", sql).doesNotContain("tableScan");
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.devchat.backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchIndexTest {
+
+	private final SearchIndex index = new SearchIndex();
+
+	@Test
+	void incrementalWritesAreSearchable() {
+		index.indexThread(1L, "Connection pooling", "hikari settings");
+		index.indexMessage(10L, 1L, "raise the pool size");
+
+		assertThat(ids("pool", DocType.MESSAGE)).containsExactly(10L);
+		assertThat(ids("hikari", DocType.THREAD)).containsExactly(1L);
+
+		index.indexThread(1L, "Connection limits", "max connections");
+		index.removeMessage(10L);
+		assertThat(ids("hikari", DocType.THREAD)).isEmpty();
+		assertThat(ids("limits", DocType.THREAD)).containsExactly(1L);
+		assertThat(ids("pool", DocType.MESSAGE)).isEmpty();
+	}
+
+	@Test
+	void titleMatchesRankAboveContentMatches() {
+		index.indexThread(1L, "Other", "caching");
+		index.indexThread(2L, "Caching", "other");
+
+		assertThat(ids("caching", DocType.THREAD)).containsExactly(2L, 1L);
+	}
+
+	@Test
+	void writesDuringRebuildWinOverOlderRows() {
+		index.indexThread(1L, "Original title", "text");
+		InvertedIndex fresh = index.beginRebuild();
+
+		// The rebuild read thread 1 and message 5 before these writes were made
+		index.indexThread(1L, "Edited title", "text");
+		index.indexThread(2L, "Created meanwhile", "text");
+		index.removeMessage(5L);
+		fresh.put(DocType.THREAD, 1L, 1L, SearchIndex.threadTerms("Original title", "text"));
+		fresh.put(DocType.MESSAGE, 5L, 1L, SearchIndex.messageTerms("deleted reply"));
+
+		// Searches keep using the old index until the swap
+		assertThat(ids("edited", DocType.THREAD)).containsExactly(1L);
+		index.finishRebuild();
+
+		assertThat(ids("edited", DocType.THREAD)).containsExactly(1L);
+		assertThat(ids("original", DocType.THREAD)).isEmpty();
+		assertThat(ids("meanwhile", DocType.THREAD)).containsExactly(2L);
+		assertThat(ids("deleted", DocType.MESSAGE)).isEmpty();
+	}
+
+	@Test
+	void abortedRebuildKeepsTheCurrentIndex() {
+		index.indexThread(1L, "Kept", "text");
+		InvertedIndex fresh = index.beginRebuild();
+		fresh.put(DocType.THREAD, 9L, 9L, SearchIndex.threadTerms("Partial", "text"));
+		index.abortRebuild();
+		index.finishRebuild();
+
+		assertThat(ids("kept", DocType.THREAD)).containsExactly(1L);
+		assertThat(ids("partial", DocType.THREAD)).isEmpty();
+	}
+
+	private List<Long> ids(String query, DocType type) {
+		return index.search(query, type, 0, 10).hits().stream().map(SearchHit::id).toList();
+	}
+}
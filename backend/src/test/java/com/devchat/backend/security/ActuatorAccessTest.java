@@ -0,0 +1,48 @@
+package com.devchat.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Without a separate management port the actuator shares the API port: health stays public,
+ * the Prometheus scrape does not.
+ */
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:actuator;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+		"spring.jpa.hibernate.ddl-auto=validate",
+		"superadmin.email=superadmin@actuator.local",
+		"superadmin.password=actuator",
+		"devchat.search.rebuild-on-startup=false",
+		"management.endpoints.web.exposure.include=health,prometheus"
+})
+class ActuatorAccessTest {
+
+	private final HttpClient http = HttpClient.newHttpClient();
+
+	@LocalServerPort
+	private int port;
+
+	@Test
+	void onlyHealthIsPublicOnTheApiPort() throws Exception {
+		assertThat(get(port, "/actuator/health")).isEqualTo(200);
+		assertThat(get(port, "/actuator/prometheus")).isIn(401, 403);
+	}
+
+	private int get(int port, String path) throws Exception {
+		return http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+				HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+}
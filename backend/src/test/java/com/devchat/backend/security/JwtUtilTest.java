@@ -0,0 +1,61 @@
+package com.devchat.backend.security;
+
+import com.devchat.backend.entity.User;
+import com.devchat.backend.enums.Role;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilTest {
+
+	private final JwtUtil jwtUtil = new JwtUtil();
+
+	@Test
+	void readsThePrincipalFromAValidToken() {
+		User user = new User();
+		user.setId(5L);
+		user.setUsername("alice");
+		user.setRole(Role.ADMIN);
+		user.setVerified(true);
+
+		assertThat(jwtUtil.parsePrincipal(jwtUtil.generateToken(user)))
+				.isEqualTo(new JwtPrincipal(5L, "alice", Role.ADMIN, true));
+	}
+
+	@Test
+	void signedTokenWithAnUnknownRoleIsNotAuthenticated() {
+		assertThat(jwtUtil.parsePrincipal(signed(5L, "MODERATOR"))).isNull();
+	}
+
+	@Test
+	void signedTokenWithAMistypedClaimIsNotAuthenticated() {
+		assertThat(jwtUtil.parsePrincipal(signed("five", "USER"))).isNull();
+	}
+
+	@Test
+	void tokenSignedWithAnotherKeyIsNotAuthenticated() {
+		assertThat(jwtUtil.parsePrincipal(signed(5L, "USER", Keys.secretKeyFor(SignatureAlgorithm.HS256)))).isNull();
+	}
+
+	private String signed(Object userId, String role) {
+		return signed(userId, role, (SecretKey) ReflectionTestUtils.getField(jwtUtil, "SECRET_KEY"));
+	}
+
+	private static String signed(Object userId, String role, SecretKey key) {
+		return Jwts.builder()
+				.setSubject("alice")
+				.claim("uid", userId)
+				.claim("role", role)
+				.claim("verified", true)
+				.setExpiration(new Date(System.currentTimeMillis() + 60_000))
+				.signWith(key)
+				.compact();
+	}
+}
@@ -0,0 +1,54 @@
+package com.devchat.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * With management.server.port set, Prometheus scrapes the internal port without credentials and
+ * the API port serves no actuator endpoints.
+ */
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:management-port;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+		"spring.jpa.hibernate.ddl-auto=validate",
+		"superadmin.email=superadmin@management-port.local",
+		"superadmin.password=management-port",
+		"devchat.search.rebuild-on-startup=false",
+		"management.endpoints.web.exposure.include=health,prometheus",
+		"management.server.port=0"
+})
+class ManagementPortScrapeTest {
+
+	private final HttpClient http = HttpClient.newHttpClient();
+
+	@LocalServerPort
+	private int port;
+
+	@LocalManagementPort
+	private int managementPort;
+
+	@Test
+	void scrapeIsOpenOnlyOnTheManagementPort() throws Exception {
+		assertThat(get(managementPort, "/actuator/prometheus")).isEqualTo(200);
+		assertThat(get(managementPort, "/actuator/health")).isEqualTo(200);
+		assertThat(get(port, "/actuator/prometheus")).isNotEqualTo(200);
+	}
+
+	private int get(int port, String path) throws Exception {
+		return http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+				HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+}
@@ -0,0 +1,92 @@
+package com.devchat.backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+	private static final RateLimitFilter.Limit THREE_PER_SECOND = new RateLimitFilter.Limit(3, 1);
+
+	@Test
+	void allowsTheBurstThenReportsTheWait() {
+		long now = 100 * SECOND;
+		AtomicLong bucket = new AtomicLong(now);
+
+		assertThat(RateLimitFilter.take(bucket, THREE_PER_SECOND, now)).isZero();
+		assertThat(RateLimitFilter.take(bucket, THREE_PER_SECOND, now)).isZero();
+		assertThat(RateLimitFilter.take(bucket, THREE_PER_SECOND, now)).isZero();
+		assertThat(RateLimitFilter.take(bucket, THREE_PER_SECOND, now)).isEqualTo(SECOND);
+		assertThat(RateLimitFilter.take(bucket, THREE_PER_SECOND, now + SECOND / 4)).isEqualTo(SECOND * 3 / 4);
+	}
+
+	@Test
+	void rejectedTakesDontConsumeTokens() {
+		long now = 100 * SECOND;
+		AtomicLong bucket = new AtomicLong(now);
+		for (int i = 0; i < 3; i++) {
+			RateLimitFilter.take(bucket, THREE_PER_SECOND, now);
+		}
+		long fullAt = bucket.get();
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(RateLimitFilter.take(bucket, THREE_PER_SECOND, now)).isPositive();
+		}
+		assertThat(bucket.get()).isEqualTo(fullAt);
+		assertThat(RateLimitFilter.take(bucket, THREE_PER_SECOND, now + SECOND)).isZero();
+	}
+
+	@Test
+	void idleTimeRefillsOnlyUpToTheBurst() {
+		long now = 100 * SECOND;
+		AtomicLong bucket = new AtomicLong(now);
+		RateLimitFilter.take(bucket, THREE_PER_SECOND, now);
+
+		long later = now + 60 * SECOND;
+		int taken = 0;
+		while (RateLimitFilter.take(bucket, THREE_PER_SECOND, later) == 0) {
+			taken++;
+		}
+		assertThat(taken).isEqualTo(3);
+	}
+
+	@Test
+	void concurrentTakesNeverExceedTheBurst() throws Exception {
+		long now = 100 * SECOND;
+		AtomicLong bucket = new AtomicLong(now);
+		RateLimitFilter.Limit limit = new RateLimitFilter.Limit(50, 10);
+		AtomicInteger allowed = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			for (int i = 0; i < 8; i++) {
+				pool.execute(() -> {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+					for (int j = 0; j < 100; j++) {
+						if (RateLimitFilter.take(bucket, limit, now) == 0) {
+							allowed.incrementAndGet();
+						}
+					}
+				});
+			}
+			start.countDown();
+		} finally {
+			pool.shutdown();
+			assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		}
+		assertThat(allowed.get()).isEqualTo(50);
+	}
+}
@@ -0,0 +1,63 @@
+package com.devchat.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Requests reach the server from 127.0.0.1, standing in for the load balancer. With forwarded
+ * headers honoured, each client address behind it gets its own login bucket.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:ratelimit-forwarded;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+		"spring.jpa.hibernate.ddl-auto=validate",
+		"superadmin.email=superadmin@ratelimit.local",
+		"superadmin.password=ratelimit",
+		"devchat.search.rebuild-on-startup=false",
+		"server.forward-headers-strategy=native",
+		"devchat.rate-limit.auth.burst=2",
+		"devchat.rate-limit.auth.per-second=0.01"
+})
+class RateLimitForwardedClientTest {
+
+	private final HttpClient http = HttpClient.newHttpClient();
+
+	@LocalServerPort
+	private int port;
+
+	@Test
+	void forwardedClientsGetSeparateBuckets() throws Exception {
+		assertThat(login("203.0.113.1")).isNotEqualTo(429);
+		assertThat(login("203.0.113.1")).isNotEqualTo(429);
+		assertThat(login("203.0.113.1")).isEqualTo(429);
+
+		assertThat(login("203.0.113.2")).isNotEqualTo(429);
+	}
+
+	@Test
+	void ipv6ClientsShareTheirSlash64() {
+		assertThat(RateLimitFilter.clientKey("2001:db8:1:2::1"))
+				.isEqualTo(RateLimitFilter.clientKey("2001:db8:1:2:ffff::9"))
+				.isNotEqualTo(RateLimitFilter.clientKey("2001:db8:1:3::1"));
+		assertThat(RateLimitFilter.clientKey("203.0.113.1")).isEqualTo("203.0.113.1");
+	}
+
+	private int login(String clientAddress) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+				.header("Content-Type", "application/json")
+				.header("X-Forwarded-For", clientAddress)
+				.POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"nobody\",\"password\":\"wrong\"}"))
+				.build();
+		return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+}
@@ -0,0 +1,118 @@
+package com.devchat.backend.service;
+
+import com.devchat.backend.dto.VoteRequestDto;
+import com.devchat.backend.enums.VoteType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Votes from the same users race on one message; afterwards the counters on the message must
+ * match the vote rows that are left, whatever order the requests ran in.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:vote-race;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+		"spring.jpa.hibernate.ddl-auto=validate",
+		"superadmin.email=superadmin@vote.local",
+		"superadmin.password=vote",
+		"devchat.search.rebuild-on-startup=false"
+})
+class VoteServiceConcurrencyTest {
+
+	private static final long MESSAGE_ID = 1000L;
+	private static final int USERS = 3;
+	private static final int VOTES = 400;
+	private static final long SEED = 20240611L;
+
+	@Autowired
+	private VoteService voteService;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@BeforeEach
+	void seed() {
+		jdbc.update("DELETE FROM votes");
+		jdbc.update("DELETE FROM messages");
+		jdbc.update("DELETE FROM threads");
+		jdbc.update("DELETE FROM users WHERE username LIKE 'voter%'");
+		for (int i = 0; i < USERS; i++) {
+			jdbc.update("INSERT INTO users (username, email, role, verified) VALUES (?, ?, 'USER', 1)",
+					"voter" + i, "voter" + i + "@test.local");
+		}
+		Long author = jdbc.queryForObject("SELECT id FROM users WHERE username = 'voter0'", Long.class);
+		jdbc.update("INSERT INTO threads (id, title, content, author_id, created_at) VALUES (1000, 't', 'c', ?, CURRENT_TIMESTAMP)", author);
+		jdbc.update("INSERT INTO messages (id, sender_id, thread_id, content, timestamp, upvotes, downvotes) "
+				+ "VALUES (?, ?, 1000, 'm', CURRENT_TIMESTAMP, 0, 0)", MESSAGE_ID, author);
+	}
+
+	@Test
+	void countsMatchVoteRowsAfterConcurrentVotesBySameUsers() throws Exception {
+		Random random = new Random(SEED);
+		int succeeded = 0;
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> results = new ArrayList<>();
+			for (int i = 0; i < VOTES; i++) {
+				String user = "voter" + (i % USERS);
+				VoteType type = random.nextBoolean() ? VoteType.UPVOTE : VoteType.DOWNVOTE;
+				results.add(pool.submit(asUser(user, () -> voteService.vote(vote(type)))));
+			}
+			// The message row lock serializes votes on one message, so none of them may fail
+			for (Future<?> result : results) {
+				result.get(30, TimeUnit.SECONDS);
+				succeeded++;
+			}
+		} finally {
+			pool.shutdown();
+		}
+		assertThat(succeeded).as("seed %d", SEED).isEqualTo(VOTES);
+
+		Map<String, Object> counts = jdbc.queryForMap("SELECT upvotes, downvotes FROM messages WHERE id = ?", MESSAGE_ID);
+		assertThat(counts.get("upvotes")).as("seed %d", SEED).isEqualTo(countRows("UPVOTE"));
+		assertThat(counts.get("downvotes")).as("seed %d", SEED).isEqualTo(countRows("DOWNVOTE"));
+	}
+
+	private int countRows(String type) {
+		return jdbc.queryForObject("SELECT COUNT(*) FROM votes WHERE message_id = ? AND vote_type = ?",
+				Integer.class, MESSAGE_ID, type);
+	}
+
+	private static VoteRequestDto vote(VoteType type) {
+		VoteRequestDto dto = new VoteRequestDto();
+		dto.setMessageId(MESSAGE_ID);
+		dto.setVoteType(type);
+		return dto;
+	}
+
+	private static <T> Callable<T> asUser(String username, Callable<T> action) {
+		return () -> {
+			SecurityContextHolder.getContext().setAuthentication(
+					new UsernamePasswordAuthenticationToken(username, null, List.of()));
+			try {
+				return action.call();
+			} finally {
+				SecurityContextHolder.clearContext();
+			}
+		};
+	}
+}
@@ -0,0 +1,104 @@
+package com.devchat.backend.service;
+
+import com.devchat.backend.dto.VoteRequestDto;
+import com.devchat.backend.entity.Vote;
+import com.devchat.backend.enums.Role;
+import com.devchat.backend.enums.VoteType;
+import com.devchat.backend.realtime.ThreadEventBroadcaster;
+import com.devchat.backend.repository.MessageRepository;
+import com.devchat.backend.repository.UserRepository;
+import com.devchat.backend.repository.VoteRepository;
+import com.devchat.backend.security.JwtPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Each vote transition must move the message counters by exactly the difference between the
+ * user's previous and new vote.
+ */
+class VoteServiceImplTest {
+
+	private static final Long USER_ID = 7L;
+	private static final Long MESSAGE_ID = 42L;
+
+	private final VoteServiceImpl service = new VoteServiceImpl();
+	private final VoteRepository voteRepository = mock(VoteRepository.class);
+	private final MessageRepository messageRepository = mock(MessageRepository.class);
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final VoteCounterBuffer voteCounterBuffer = mock(VoteCounterBuffer.class);
+
+	@BeforeEach
+	void wire() {
+		ReflectionTestUtils.setField(service, "voteRepository", voteRepository);
+		ReflectionTestUtils.setField(service, "messageRepository", messageRepository);
+		ReflectionTestUtils.setField(service, "userRepository", userRepository);
+		ReflectionTestUtils.setField(service, "voteCounterBuffer", voteCounterBuffer);
+		ReflectionTestUtils.setField(service, "broadcaster", mock(ThreadEventBroadcaster.class));
+		ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+
+		when(messageRepository.lockById(MESSAGE_ID)).thenReturn(Optional.of(MESSAGE_ID));
+		when(messageRepository.findVoteCountsById(MESSAGE_ID)).thenReturn(Optional.empty());
+		when(voteCounterBuffer.pendingFor(MESSAGE_ID)).thenReturn(new int[2]);
+
+		JwtPrincipal principal = new JwtPrincipal(USER_ID, "voter", Role.USER, true);
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+	}
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@ParameterizedTest(name = "{0} then {1}")
+	@CsvSource({
+			",         UPVOTE,   1,  0, Vote added",
+			",         DOWNVOTE, 0,  1, Vote added",
+			"UPVOTE,   DOWNVOTE, -1, 1, Vote updated",
+			"DOWNVOTE, UPVOTE,   1, -1, Vote updated",
+			"UPVOTE,   UPVOTE,   -1, 0, Vote removed",
+			"DOWNVOTE, DOWNVOTE, 0, -1, Vote removed"
+	})
+	void adjustsCountersByTheTransitionDelta(VoteType previous, VoteType requested,
+	                                         int upDelta, int downDelta, String result) {
+		Vote existing = null;
+		if (previous != null) {
+			existing = new Vote();
+			existing.setVoteType(previous);
+		}
+		when(voteRepository.findForUpdate(USER_ID, MESSAGE_ID)).thenReturn(Optional.ofNullable(existing));
+
+		VoteRequestDto dto = new VoteRequestDto();
+		dto.setMessageId(MESSAGE_ID);
+		dto.setVoteType(requested);
+		Map<String, Object> response = service.vote(dto);
+
+		assertThat(response).containsEntry("message", result);
+		verify(messageRepository).adjustVoteCounts(MESSAGE_ID, upDelta, downDelta);
+		if (previous == null) {
+			verify(voteRepository).save(any(Vote.class));
+		} else if (previous == requested) {
+			verify(voteRepository).delete(existing);
+		} else {
+			assertThat(existing.getVoteType()).isEqualTo(requested);
+			verify(voteRepository, never()).delete(any());
+		}
+	}
+}
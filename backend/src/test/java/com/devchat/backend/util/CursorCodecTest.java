@@ -0,0 +1,75 @@
+package com.devchat.backend.util;
+
+import com.devchat.backend.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorCodecTest {
+
+	@Test
+	void timestampCursorRoundTrips() {
+		LocalDateTime timestamp = LocalDateTime.of(2024, 3, 1, 12, 30, 5, 123_456_000);
+		String cursor = CursorCodec.encode(timestamp, 42L);
+
+		assertThat(cursor).matches("[A-Za-z0-9_-]+");
+		assertThat(CursorCodec.decode(cursor)).isEqualTo(new CursorCodec.Position(timestamp, 42L));
+	}
+
+	@Test
+	void timestampWithoutSecondsRoundTrips() {
+		// LocalDateTime.toString drops zero seconds; parse must accept that form
+		LocalDateTime timestamp = LocalDateTime.of(2024, 3, 1, 12, 30);
+
+		assertThat(CursorCodec.decode(CursorCodec.encode(timestamp, 1L)).timestamp()).isEqualTo(timestamp);
+	}
+
+	@Test
+	void scoreCursorRoundTrips() {
+		String cursor = CursorCodec.encode(-3.25, 7L);
+
+		assertThat(CursorCodec.decodeScore(cursor)).isEqualTo(new CursorCodec.ScorePosition(-3.25, 7L));
+	}
+
+	@Test
+	void idCursorRoundTrips() {
+		assertThat(CursorCodec.decodeId(CursorCodec.encode(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"", "not base64!", "2024-03-01T12:30", "|5", "2024-03-01T12:30|", "2024-13-01T12:30|5",
+			"2024-03-01T12:30|5; DROP TABLE threads", "2024-03-01T12:30|99999999999999999999"})
+	void rejectsTamperedTimestampCursors(String raw) {
+		assertThatThrownBy(() -> CursorCodec.decode(encodeRaw(raw))).isInstanceOf(InvalidCursorException.class);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"", "1.5", "abc|5", "1.5|x", "NaN|5", "Infinity|5", "-Infinity|5"})
+	void rejectsTamperedScoreCursors(String raw) {
+		assertThatThrownBy(() -> CursorCodec.decodeScore(encodeRaw(raw))).isInstanceOf(InvalidCursorException.class);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"", "12a", "1|2"})
+	void rejectsTamperedIdCursors(String raw) {
+		assertThatThrownBy(() -> CursorCodec.decodeId(encodeRaw(raw))).isInstanceOf(InvalidCursorException.class);
+	}
+
+	@Test
+	void rejectsCursorsThatAreNotBase64() {
+		assertThatThrownBy(() -> CursorCodec.decode("%%%")).isInstanceOf(InvalidCursorException.class);
+		assertThatThrownBy(() -> CursorCodec.decodeScore("%%%")).isInstanceOf(InvalidCursorException.class);
+		assertThatThrownBy(() -> CursorCodec.decodeId("%%%")).isInstanceOf(InvalidCursorException.class);
+	}
+
+	private static String encodeRaw(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}